@@ -0,0 +1,75 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
+import br.com.accenture.consulta.config.BinaryFormatConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Página de 100 fornecedores serializada em cada formato negociado, com o tamanho do corpo ao lado do tempo
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FormatoBinarioBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String formato;
+
+    private ObjectMapper mapper;
+    private Page<FornecedorDto> pagina;
+
+    // Cada byte gerado conta como uma operação: o resultado secundário é o custo em ns por byte,
+    // e ns/op dividido por ele dá o tamanho do corpo em cada formato
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Tamanho {
+        public long bytes;
+    }
+
+    @Setup
+    public void setUp() {
+        mapper = switch (formato) {
+            case "smile" -> BinaryFormatConfig.compactMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+            case "cbor" -> BinaryFormatConfig.compactMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        List<FornecedorDto> content = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            content.add(new FornecedorDto("id-" + i, String.format("%011d", i), "Fornecedor " + i, "f" + i + "@x.com",
+                    "01001-000", "RG" + i, LocalDate.of(1980, 1, 1).plusDays(i), (long) i));
+        }
+        pagina = new PageImpl<>(content, PageRequest.of(0, 100), 1000);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina(Tamanho tamanho) throws JsonProcessingException {
+        byte[] corpo = mapper.writeValueAsBytes(pagina);
+        tamanho.bytes += corpo.length;
+        return corpo;
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.empresa.EmpresaDto;
+import br.com.accenture.consulta.application.empresa.EmpresaMapper;
+import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
+import br.com.accenture.consulta.application.fornecedor.FornecedorMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Ida e volta DTO -> entidade -> DTO, como no cadastro seguido da leitura
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    private final FornecedorMapper fornecedorMapper = new FornecedorMapper();
+    private final EmpresaMapper empresaMapper = new EmpresaMapper(fornecedorMapper);
+    private FornecedorDto fornecedor = fornecedor(0);
+
+    // Só a empresa varia com o tamanho da lista de fornecedores
+    @State(Scope.Benchmark)
+    public static class Empresas {
+
+        @Param({"0", "10", "100"})
+        private int fornecedores;
+
+        private EmpresaDto empresa;
+
+        @Setup
+        public void setUp() {
+            List<FornecedorDto> lista = new ArrayList<>(fornecedores);
+            for (int i = 0; i < fornecedores; i++) {
+                lista.add(fornecedor(i));
+            }
+            empresa = new EmpresaDto(null, "11444777000161", "Empresa Benchmark", "01001-000", lista);
+        }
+    }
+
+    @Benchmark
+    public FornecedorDto fornecedorRoundTrip() {
+        return fornecedorMapper.mapToFornecedorDto(fornecedorMapper.mapToFornecedor(fornecedor));
+    }
+
+    @Benchmark
+    public EmpresaDto empresaRoundTrip(Empresas empresas) {
+        return empresaMapper.mapToEmpresaDto(empresaMapper.mapToEmpresa(empresas.empresa));
+    }
+
+    private static FornecedorDto fornecedor(int i) {
+        return new FornecedorDto(null, "52998224725", "Fornecedor " + i, "fornecedor" + i + "@x.com",
+                "80000-000", String.valueOf(i), LocalDate.of(1980, 1, 1), null);
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.cep.CepResolver;
+import br.com.accenture.consulta.application.empresa.EmpresaDto;
+import br.com.accenture.consulta.application.fornecedor.FornecedorValidationPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Regras locais executadas em todo cadastro, antes de qualquer ida ao banco ou ao ViaCEP
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ValidacaoBenchmark {
+
+    private String cnpjFormatado = "11.444.777/0001-61";
+    private String cpfFormatado = "529.982.247-25";
+    private String cep = "80000-000";
+    private LocalDate nascimento = LocalDate.of(2006, 10, 17);
+    private final EmpresaDto empresa = new EmpresaDto();
+
+    // Limpeza feita em EmpresaDto.setCnpj
+    @Benchmark
+    public String empresaDtoSetCnpj() {
+        empresa.setCnpj(cnpjFormatado);
+        return empresa.getCnpj();
+    }
+
+    // Mesma limpeza feita nos controllers antes de mapear o DTO
+    @Benchmark
+    public String controllerCpfCnpjReplaceAll() {
+        return cpfFormatado.replaceAll("[^\\d]", "");
+    }
+
+    // Referência: String.matches recompila a expressão a cada chamada
+    @Benchmark
+    public boolean cepMatches() {
+        return cep.matches("\\d{5}-?\\d{3}");
+    }
+
+    @Benchmark
+    public boolean cepHasValidFormat() {
+        return CepResolver.hasValidFormat(cep);
+    }
+
+    @Benchmark
+    public boolean isOlderThan18Years() {
+        return FornecedorValidationPipeline.isOlderThan18Years(nascimento);
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.cep.CepInfo;
+import br.com.accenture.consulta.application.cep.ViaCepClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Leitura das respostas do ViaCEP com Gson, sem rede
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ViaCepParseBenchmark {
+
+    private String encontrado = """
+            {
+              "cep": "80010-000",
+              "logradouro": "Praça Tiradentes",
+              "complemento": "",
+              "unidade": "",
+              "bairro": "Centro",
+              "localidade": "Curitiba",
+              "uf": "PR",
+              "estado": "Paraná",
+              "regiao": "Sul",
+              "ibge": "4106902",
+              "gia": "",
+              "ddd": "41",
+              "siafi": "7535"
+            }""";
+    private String naoEncontrado = "{\n  \"erro\": \"true\"\n}";
+
+    @Benchmark
+    public CepInfo parseEncontrado() throws IOException {
+        return ViaCepClient.parse(encontrado);
+    }
+
+    @Benchmark
+    public CepInfo parseNaoEncontrado() throws IOException {
+        return ViaCepClient.parse(naoEncontrado);
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.accenture.consulta.application.cache;
+
+import br.com.accenture.consulta.config.LookupCacheProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Propaga invalidações de cache entre instâncias via LISTEN/NOTIFY do Postgres.
+ * O pg_notify roda na transação corrente, então as outras instâncias só recebem a
+ * invalidação depois do commit. Cada instância mantém uma conexão dedicada escutando o canal;
+ * se ela cair, os assinantes são avisados para descartar tudo, já que mensagens podem ter se perdido.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus {
+
+    public interface Listener {
+        void invalidated(List<String> keys, long sentAtMillis);
+
+        void reset();
+    }
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+    // O payload do NOTIFY tem limite de 8000 bytes
+    private static final int MAX_PAYLOAD = 7000;
+    private static final char SEPARATOR = '\n';
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final LookupCacheProperties.Notify properties;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean enabled;
+    private volatile boolean running;
+    private volatile boolean connected;
+    private Thread listenerThread;
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate, DataSource dataSource, LookupCacheProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.properties = properties.getNotify();
+        if (!CHANNEL.matcher(this.properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Canal de notificação inválido: " + this.properties.getChannel());
+        }
+    }
+
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        enabled = properties.isEnabled() && isPostgres();
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public void publish(Collection<String> keys) {
+        if (!enabled || keys.isEmpty()) {
+            return;
+        }
+        String header = nodeId + SEPARATOR + System.currentTimeMillis();
+        StringBuilder payload = new StringBuilder(header);
+        for (String key : keys) {
+            if (payload.length() + key.length() + 1 > MAX_PAYLOAD && payload.length() > header.length()) {
+                notify(payload.toString());
+                payload.setLength(0);
+                payload.append(header);
+            }
+            payload.append(SEPARATOR).append(key);
+        }
+        notify(payload.toString());
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, properties.getChannel(), payload);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                connected = true;
+                // Enquanto estava desconectado, invalidações podem ter passado despercebidas
+                listeners.forEach(Listener::reset);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                connected = false;
+                if (running) {
+                    log.warn("Conexão de invalidação de cache perdida: {}", e.getMessage());
+                    sleep();
+                }
+            }
+        }
+        connected = false;
+    }
+
+    private void dispatch(String payload) {
+        List<String> parts = Arrays.asList(payload.split(String.valueOf(SEPARATOR)));
+        if (parts.size() < 3 || nodeId.equals(parts.get(0))) {
+            return;
+        }
+        long sentAt;
+        try {
+            sentAt = Long.parseLong(parts.get(1));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(parts.subList(2, parts.size()));
+        listeners.forEach(listener -> listener.invalidated(keys, sentAt));
+    }
+
+    private boolean isPostgres() {
+        Boolean postgres = jdbcTemplate.execute((Connection connection) ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        return Boolean.TRUE.equals(postgres);
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(properties.getReconnectDelay().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
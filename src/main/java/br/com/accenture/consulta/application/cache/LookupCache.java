@@ -0,0 +1,214 @@
+package br.com.accenture.consulta.application.cache;
+
+import br.com.accenture.consulta.config.LookupCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache read-through das buscas por chave natural (CPF/CNPJ, e-mail, CNPJ da empresa).
+ * Guarda DTOs imutáveis, nunca entidades gerenciadas. Toda escrita invalida as chaves afetadas
+ * na hora e de novo após o commit, e publica a invalidação para as outras instâncias.
+ * Uma carga que começou antes de alguma invalidação não é gravada, para não ressuscitar um valor antigo.
+ */
+@Component
+public class LookupCache implements CacheInvalidationBus.Listener {
+
+    private final Cache<String, Entry> cache;
+    private final CacheInvalidationBus bus;
+
+    // Incrementado a cada invalidação; cargas que atravessam uma invalidação são descartadas
+    private final AtomicLong epoch = new AtomicLong();
+    private final LongAdder localInvalidations = new LongAdder();
+    private final LongAdder remoteInvalidations = new LongAdder();
+    private final LongAdder discardedLoads = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder servedAgeMillis = new LongAdder();
+    private final LongAccumulator maxServedAgeMillis = new LongAccumulator(Math::max, 0);
+    private final LongAdder remoteLagMillis = new LongAdder();
+    private final LongAccumulator maxRemoteLagMillis = new LongAccumulator(Math::max, 0);
+
+    public LookupCache(LookupCacheProperties properties, CacheInvalidationBus bus) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new LookupExpiry(properties.getTtl(), properties.getNegativeTtl()))
+                .recordStats()
+                .build();
+        this.bus = bus;
+        bus.subscribe(this);
+    }
+
+    // Chaves nulas (campo opcional ausente) viram null e são ignoradas na invalidação
+    public static String fornecedorCpfCnpj(String cpfCnpj) {
+        return cpfCnpj == null ? null : "F:cpfCnpj:" + cpfCnpj;
+    }
+
+    public static String fornecedorEmail(String email) {
+        return email == null ? null : "F:email:" + email;
+    }
+
+    // Uma entrada por variante (plano de carga) do mesmo CNPJ
+    public static List<String> empresaCnpj(String cnpj, Collection<?> variants) {
+        if (cnpj == null) {
+            return List.of();
+        }
+        List<String> keys = new ArrayList<>(variants.size());
+        for (Object variant : variants) {
+            keys.add(empresaCnpj(cnpj, variant));
+        }
+        return keys;
+    }
+
+    public static String empresaCnpj(String cnpj, Object variant) {
+        return "E:cnpj:" + variant + ":" + cnpj;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> get(String key, Supplier<Optional<T>> loader) {
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            long age = (System.nanoTime() - cached.loadedAtNanos()) / 1_000_000;
+            servedAgeMillis.add(age);
+            maxServedAgeMillis.accumulate(age);
+            return (Optional<T>) cached.value();
+        }
+        long startEpoch = epoch.get();
+        Optional<T> loaded = loader.get();
+        if (epoch.get() == startEpoch) {
+            cache.put(key, new Entry(loaded, System.nanoTime()));
+        } else {
+            discardedLoads.increment();
+        }
+        return loaded;
+    }
+
+    // Só consulta: devolve o valor se estiver em cache, sem carregar nada
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> peek(String key) {
+        Entry cached = cache.getIfPresent(key);
+        return cached == null ? Optional.empty() : (Optional<T>) cached.value();
+    }
+
+    /**
+     * Invalida as chaves localmente, de novo após o commit (se houver transação) e nas demais instâncias.
+     * Chaves nulas são ignoradas, o que permite passar valores opcionais direto.
+     */
+    public void invalidate(String... keys) {
+        invalidate(Arrays.asList(keys));
+    }
+
+    public void invalidate(Collection<String> keys) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String key : keys) {
+            if (key != null) {
+                distinct.add(key);
+            }
+        }
+        if (distinct.isEmpty()) {
+            return;
+        }
+        evict(distinct);
+        localInvalidations.add(distinct.size());
+        bus.publish(distinct);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<String> afterCommit = new ArrayList<>(distinct);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(afterCommit);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void invalidated(List<String> keys, long sentAtMillis) {
+        evict(keys);
+        remoteInvalidations.add(keys.size());
+        long lag = Math.max(0, System.currentTimeMillis() - sentAtMillis);
+        remoteLagMillis.add(lag);
+        maxRemoteLagMillis.accumulate(lag);
+    }
+
+    @Override
+    public void reset() {
+        epoch.incrementAndGet();
+        cache.invalidateAll();
+        resets.increment();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        long remote = remoteInvalidations.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRatio", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("localInvalidations", localInvalidations.sum());
+        result.put("remoteInvalidations", remote);
+        result.put("discardedStaleLoads", discardedLoads.sum());
+        result.put("resets", resets.sum());
+        // Idade dos valores servidos do cache: quanto tempo depois da leitura no banco eles foram entregues
+        result.put("avgServedAgeMillis", stats.hitCount() == 0 ? 0 : servedAgeMillis.sum() / stats.hitCount());
+        result.put("maxServedAgeMillis", maxServedAgeMillis.get());
+        // Atraso entre a escrita em outra instância e a invalidação chegar aqui
+        result.put("avgRemoteLagMillis", remote == 0 ? 0 : remoteLagMillis.sum() / remote);
+        result.put("maxRemoteLagMillis", maxRemoteLagMillis.get());
+        result.put("notifyConnected", bus.isConnected());
+        return result;
+    }
+
+    private void evict(Collection<String> keys) {
+        epoch.incrementAndGet();
+        cache.invalidateAll(keys);
+    }
+
+    private record Entry(Optional<?> value, long loadedAtNanos) {
+    }
+
+    private static final class LookupExpiry implements Expiry<String, Entry> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        LookupExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.value().isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.accenture.consulta.application.campos;
+
+import br.com.accenture.consulta.application.empresa.EmpresaDto;
+import br.com.accenture.consulta.application.empresa.FetchPlan;
+import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
+import br.com.accenture.consulta.domain.exception.InvalidRequestParameterException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Campos pedidos em fields=... (sparse fieldset). Os nomes são os do JSON, que coincidem com os
+ * atributos das entidades; a resposta segue a ordem de declaração, não a do parâmetro.
+ * Na empresa, "fornecedorDtos" traz a lista completa e "fornecedorDtos.nome" só os campos citados;
+ * sem nenhum dos dois a lista não é carregada.
+ */
+public record Campos(List<String> nomes, List<String> fornecedores) {
+
+    public static final List<String> FORNECEDOR =
+            List.of("id", "cpfCnpj", "nome", "email", "cep", "rg", "dataNascimento", "version");
+    public static final List<String> EMPRESA =
+            List.of("id", "cnpj", "nomeFantasia", "cep", "version", "totalFornecedores", "fornecedorDtos");
+
+    private static final String ANINHADO = "fornecedorDtos";
+
+    // Nulo quando o parâmetro não foi informado: a resposta continua sendo o DTO completo
+    public static Campos fornecedor(String fields) {
+        Set<String> pedidos = split(fields);
+        if (pedidos == null) {
+            return null;
+        }
+        return new Campos(selecionar(FORNECEDOR, pedidos), null);
+    }
+
+    public static Campos empresa(String fields) {
+        Set<String> pedidos = split(fields);
+        if (pedidos == null) {
+            return null;
+        }
+        Set<String> aninhados = new LinkedHashSet<>();
+        boolean listaCompleta = false;
+        for (var it = pedidos.iterator(); it.hasNext(); ) {
+            String campo = it.next();
+            if (campo.startsWith(ANINHADO + ".")) {
+                aninhados.add(campo.substring(ANINHADO.length() + 1));
+                it.remove();
+            } else if (campo.equals(ANINHADO)) {
+                listaCompleta = true;
+            }
+        }
+        if (!aninhados.isEmpty()) {
+            pedidos.add(ANINHADO);
+        }
+        List<String> fornecedores = listaCompleta ? FORNECEDOR
+                : aninhados.isEmpty() ? null : selecionar(FORNECEDOR, aninhados);
+        return new Campos(selecionar(EMPRESA, pedidos), fornecedores);
+    }
+
+    // Nas buscas por chave (servidas do cache de DTOs), carrega dos fornecedores só o necessário
+    public FetchPlan fetchPlan() {
+        if (fornecedores != null) {
+            return FetchPlan.FORNECEDORES;
+        }
+        return contem("totalFornecedores") ? FetchPlan.COUNT : FetchPlan.NONE;
+    }
+
+    public boolean contem(String campo) {
+        return nomes.contains(campo);
+    }
+
+    // Colunas da entidade a ler: os campos pedidos que existem na tabela, mais os obrigatórios
+    public List<String> colunas(List<String> obrigatorias) {
+        List<String> colunas = new ArrayList<>(obrigatorias);
+        for (String nome : nomes) {
+            if (!colunas.contains(nome) && !nome.equals(ANINHADO) && !nome.equals("totalFornecedores")) {
+                colunas.add(nome);
+            }
+        }
+        return colunas;
+    }
+
+    // Remove da linha o que foi lido só para uso interno (id do cursor, chave de ordenação)
+    public Map<String, Object> recortar(Map<String, Object> linha) {
+        return recortar(linha, nomes);
+    }
+
+    // Recorte em memória, para as buscas por chave servidas do cache de DTOs
+    public Map<String, Object> aplicar(FornecedorDto dto) {
+        return recortar(fornecedorMap(dto), nomes);
+    }
+
+    public Map<String, Object> aplicar(EmpresaDto dto) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("id", dto.getId());
+        linha.put("cnpj", dto.getCnpj());
+        linha.put("nomeFantasia", dto.getNomeFantasia());
+        linha.put("cep", dto.getCep());
+        linha.put("version", dto.getVersion());
+        // Com a lista carregada o DTO não traz a contagem, mas ela é o tamanho da lista
+        linha.put("totalFornecedores", dto.getTotalFornecedores() != null || dto.getFornecedorDtos() == null
+                ? dto.getTotalFornecedores() : Long.valueOf(dto.getFornecedorDtos().size()));
+        if (fornecedores != null && dto.getFornecedorDtos() != null) {
+            List<Map<String, Object>> lista = new ArrayList<>(dto.getFornecedorDtos().size());
+            for (FornecedorDto fornecedor : dto.getFornecedorDtos()) {
+                lista.add(recortar(fornecedorMap(fornecedor), fornecedores));
+            }
+            linha.put(ANINHADO, lista);
+        }
+        return recortar(linha, nomes);
+    }
+
+    private static Map<String, Object> fornecedorMap(FornecedorDto dto) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("id", dto.getId());
+        linha.put("cpfCnpj", dto.getCpfCnpj());
+        linha.put("nome", dto.getNome());
+        linha.put("email", dto.getEmail());
+        linha.put("cep", dto.getCep());
+        linha.put("rg", dto.getRg());
+        linha.put("dataNascimento", dto.getDataNascimento());
+        linha.put("version", dto.getVersion());
+        return linha;
+    }
+
+    private static Map<String, Object> recortar(Map<String, Object> linha, List<String> nomes) {
+        linha.keySet().retainAll(nomes);
+        return linha;
+    }
+
+    private static Set<String> split(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> pedidos = new LinkedHashSet<>();
+        for (String campo : fields.split(",")) {
+            if (!campo.isBlank()) {
+                pedidos.add(campo.trim());
+            }
+        }
+        return pedidos.isEmpty() ? null : pedidos;
+    }
+
+    private static List<String> selecionar(List<String> permitidos, Set<String> pedidos) {
+        for (String campo : pedidos) {
+            if (!permitidos.contains(campo)) {
+                throw new InvalidRequestParameterException("Campo inválido em fields: " + campo
+                        + ". Use " + String.join(", ", permitidos) + ".");
+            }
+        }
+        List<String> selecionados = new ArrayList<>(pedidos.size());
+        for (String campo : permitidos) {
+            if (pedidos.contains(campo)) {
+                selecionados.add(campo);
+            }
+        }
+        return selecionados;
+    }
+}
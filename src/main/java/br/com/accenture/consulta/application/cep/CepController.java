@@ -0,0 +1,24 @@
+package br.com.accenture.consulta.application.cep;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cep")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:8082")
+public class CepController {
+
+    private final CepResolver cepResolver;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(cepResolver.stats());
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.accenture.consulta.application.cep;
+
+import br.com.accenture.consulta.domain.exception.InvalidRequestParameterException;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Validação dos parâmetros de filtro por UF e prefixo de CEP usados nas listagens.
+ */
+public final class CepFiltros {
+
+    private CepFiltros() {
+    }
+
+    // Nulo quando o filtro não foi informado
+    public static String uf(String uf) {
+        if (uf == null || uf.isBlank()) {
+            return null;
+        }
+        String value = uf.trim().toUpperCase(Locale.ROOT);
+        if (!value.matches("[A-Z]{2}")) {
+            throw new InvalidRequestParameterException("Valor inválido para uf: " + uf + ".");
+        }
+        return value;
+    }
+
+    // Aceita "80010", "80010-1" ou "800101"; devolve só os dígitos ou nulo quando não informado
+    public static String prefixo(String cep) {
+        if (cep == null || cep.isBlank()) {
+            return null;
+        }
+        String digits = cep.trim().replace("-", "");
+        if (!digits.matches("\\d{1,8}")) {
+            throw new InvalidRequestParameterException("Valor inválido para cep: " + cep + ". Informe de 1 a 8 dígitos.");
+        }
+        return digits;
+    }
+
+    /**
+     * Padrões LIKE que casam o prefixo com o CEP gravado com ou sem hífen. Até o quinto dígito
+     * os dois formatos coincidem; depois dele é preciso um segundo padrão com o hífen.
+     */
+    public static List<String> prefixPatterns(String digits) {
+        if (digits.length() <= 5) {
+            return List.of(digits + "%");
+        }
+        return List.of(digits + "%", digits.substring(0, 5) + "-" + digits.substring(5) + "%");
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.accenture.consulta.application.cep;
+
+public record CepInfo(boolean valid, String uf) {
+
+    private static final CepInfo INVALID = new CepInfo(false, null);
+
+    public static CepInfo invalid() {
+        return INVALID;
+    }
+
+    public static CepInfo of(String uf) {
+        return new CepInfo(true, uf);
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.accenture.consulta.application.cep;
+
+import br.com.accenture.consulta.config.CepProperties;
+import br.com.accenture.consulta.domain.cep.CepUfTable;
+import br.com.accenture.consulta.domain.exception.CepServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class CepResolver {
+
+    private static final Pattern CEP_PATTERN = Pattern.compile("\\d{5}-?\\d{3}");
+    private static final String INDISPONIVEL = "Serviço de CEP indisponível no momento. Tente novamente mais tarde.";
+
+    private final ViaCepClient viaCepClient;
+    private final Cache<String, CepInfo> cache;
+    private final SingleFlight<String, CepInfo> inFlight = new SingleFlight<>();
+
+    public CepResolver(ViaCepClient viaCepClient, CepProperties properties) {
+        this.viaCepClient = viaCepClient;
+        CepProperties.Cache cacheProperties = properties.getCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaxSize())
+                .expireAfter(new CepExpiry(cacheProperties.getTtl(), cacheProperties.getNegativeTtl()))
+                .recordStats()
+                .build();
+    }
+
+    public static boolean hasValidFormat(String cep) {
+        return cep != null && CEP_PATTERN.matcher(cep).matches();
+    }
+
+    public static String normalize(String cep) {
+        return cep.replace("-", "");
+    }
+
+    /**
+     * Resolve validade e UF do CEP com uma única consulta ao ViaCEP; consultas concorrentes
+     * ao mesmo CEP compartilham a mesma chamada.
+     * Falhas de transporte não são cacheadas e, como o circuit breaker aberto, falham com
+     * {@link CepServiceUnavailableException}: só a resposta "erro" do ViaCEP vira CEP inválido.
+     */
+    public CepInfo resolve(String cep) {
+        if (!hasValidFormat(cep)) {
+            log.debug("Formato de CEP inválido: {}", cep);
+            return CepInfo.invalid();
+        }
+        String key = normalize(cep);
+        CepInfo cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        return inFlight.execute(key, () -> load(key));
+    }
+
+    /**
+     * Mesmo contrato de {@link #resolve}, sem ocupar a thread de quem chama enquanto o ViaCEP responde:
+     * o futuro completa na thread de I/O do cliente HTTP (ou já completo, com o CEP em cache).
+     */
+    public CompletableFuture<CepInfo> resolveAsync(String cep) {
+        if (!hasValidFormat(cep)) {
+            log.debug("Formato de CEP inválido: {}", cep);
+            return CompletableFuture.completedFuture(CepInfo.invalid());
+        }
+        String key = normalize(cep);
+        CepInfo cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return inFlight.executeAsync(key, () -> loadAsync(key));
+    }
+
+    private CompletableFuture<CepInfo> loadAsync(String key) {
+        CepInfo cached = cache.asMap().get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return viaCepClient.lookupAsync(key).handle((info, error) -> {
+            if (error == null) {
+                return store(key, info);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            log.warn("Falha ao consultar o CEP {} no ViaCEP", key, cause);
+            throw new CepServiceUnavailableException(INDISPONIVEL, cause);
+        });
+    }
+
+    private CepInfo store(String key, CepInfo info) {
+        if (info.valid() && info.uf() == null) {
+            info = CepInfo.of(CepUfTable.ufOf(key));
+        }
+        cache.put(key, info);
+        return info;
+    }
+
+    private CepInfo load(String key) {
+        // Outra requisição pode ter preenchido o cache entre a verificação e a entrada no single-flight
+        CepInfo cached = cache.asMap().get(key);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            return store(key, viaCepClient.lookup(key));
+        } catch (IOException e) {
+            log.warn("Falha ao consultar o CEP {} no ViaCEP", key, e);
+            throw new CepServiceUnavailableException(INDISPONIVEL, e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        return Map.of(
+                "hits", stats.hitCount(),
+                "misses", stats.missCount(),
+                "evictions", stats.evictionCount(),
+                "size", cache.estimatedSize(),
+                "coalesced", inFlight.coalescedCount(),
+                "circuitBreaker", viaCepClient.circuitState().name()
+        );
+    }
+
+    private record CepExpiry(Duration ttl, Duration negativeTtl) implements Expiry<String, CepInfo> {
+
+        @Override
+        public long expireAfterCreate(String key, CepInfo value, long currentTime) {
+            return (value.valid() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CepInfo value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CepInfo value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
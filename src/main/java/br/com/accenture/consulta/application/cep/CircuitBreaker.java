@@ -0,0 +1,59 @@
+package br.com.accenture.consulta.application.cep;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Circuit breaker simples por falhas consecutivas: abre após {@code failureThreshold}
+ * falhas, recusa chamadas durante {@code openDuration} e então libera uma única sonda.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicBoolean open = new AtomicBoolean();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    public boolean allowRequest() {
+        if (!open.get()) {
+            return true;
+        }
+        if (System.nanoTime() - openedAt.get() < openNanos) {
+            return false;
+        }
+        return probeInFlight.compareAndSet(false, true);
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        open.set(false);
+        probeInFlight.set(false);
+    }
+
+    public void recordFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold || probeInFlight.get()) {
+            openedAt.set(System.nanoTime());
+            open.set(true);
+            probeInFlight.set(false);
+        }
+    }
+
+    public State state() {
+        if (!open.get()) {
+            return State.CLOSED;
+        }
+        return System.nanoTime() - openedAt.get() < openNanos ? State.OPEN : State.HALF_OPEN;
+    }
+}
@@ -0,0 +1,223 @@
+package br.com.accenture.consulta.application.cep;
+
+import br.com.accenture.consulta.config.CepProperties;
+import br.com.accenture.consulta.domain.exception.CepServiceUnavailableException;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import jakarta.annotation.PreDestroy;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.util.EntityUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Cliente do ViaCEP sobre o cliente HTTP assíncrono: nenhuma thread fica parada esperando a
+ * resposta. {@link #lookup} continua disponível para quem já roda fora da thread da requisição.
+ */
+@Component
+public class ViaCepClient {
+
+    private static final Gson GSON = new Gson();
+    private static final long SELECT_INTERVAL_MILLIS = 50;
+
+    private final String baseUrl;
+    private final CloseableHttpAsyncClient httpClient;
+    private final CircuitBreaker circuitBreaker;
+    private final boolean hedgeEnabled;
+    private final long hedgeDelayMillis;
+
+    public ViaCepClient(CepProperties properties) {
+        CepProperties.Http http = properties.getHttp();
+        this.baseUrl = http.getBaseUrl();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) http.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) http.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) http.getConnectionRequestTimeout().toMillis())
+                .build();
+
+        // O reator só confere os timeouts a cada selectInterval (1s por padrão), o que estouraria o read-timeout
+        IOReactorConfig reactorConfig = IOReactorConfig.custom()
+                .setConnectTimeout((int) http.getConnectTimeout().toMillis())
+                .setSoTimeout((int) http.getReadTimeout().toMillis())
+                .setSelectInterval(SELECT_INTERVAL_MILLIS)
+                .build();
+
+        this.httpClient = HttpAsyncClients.custom()
+                .setDefaultIOReactorConfig(reactorConfig)
+                .setMaxConnTotal(http.getMaxConnections())
+                .setMaxConnPerRoute(http.getMaxConnectionsPerRoute())
+                .setDefaultRequestConfig(requestConfig)
+                .setThreadFactory(runnable -> {
+                    Thread thread = new Thread(runnable, "viacep-io");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                .build();
+        this.httpClient.start();
+
+        CepProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        this.circuitBreaker = new CircuitBreaker(breaker.getFailureThreshold(), breaker.getOpenDuration());
+
+        CepProperties.Hedge hedge = properties.getHedge();
+        this.hedgeEnabled = hedge.isEnabled();
+        this.hedgeDelayMillis = hedge.getDelay().toMillis();
+    }
+
+    public CepInfo lookup(String cep) throws IOException {
+        try {
+            return lookupAsync(cep).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Consulta de CEP interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw asIOException(e.getCause());
+        }
+    }
+
+    /**
+     * Completa na thread de I/O do cliente HTTP; falhas de transporte chegam como {@link IOException}
+     * e, com o circuit breaker aberto, o futuro já nasce falho com {@link CepServiceUnavailableException}.
+     */
+    public CompletableFuture<CepInfo> lookupAsync(String cep) {
+        if (!circuitBreaker.allowRequest()) {
+            return CompletableFuture.failedFuture(
+                    new CepServiceUnavailableException("Serviço de CEP indisponível no momento. Tente novamente mais tarde."));
+        }
+        CompletableFuture<CepInfo> result = hedgeEnabled ? hedgedFetch(cep) : fetch(cep);
+        return result.whenComplete((info, error) -> {
+            if (error == null) {
+                circuitBreaker.recordSuccess();
+            } else {
+                circuitBreaker.recordFailure();
+            }
+        });
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private CompletableFuture<CepInfo> fetch(String cep) {
+        CompletableFuture<CepInfo> result = new CompletableFuture<>();
+        Future<HttpResponse> request = httpClient.execute(new HttpGet(baseUrl + "/" + cep + "/json"),
+                new FutureCallback<>() {
+                    @Override
+                    public void completed(HttpResponse response) {
+                        try {
+                            HttpEntity entity = response.getEntity();
+                            if (entity == null) {
+                                throw new IOException("Resposta vazia do ViaCEP para o CEP " + cep);
+                            }
+                            // A resposta já está em memória: ler a entidade não bloqueia
+                            result.complete(parse(EntityUtils.toString(entity)));
+                        } catch (IOException | RuntimeException e) {
+                            result.completeExceptionally(e);
+                        }
+                    }
+
+                    @Override
+                    public void failed(Exception e) {
+                        result.completeExceptionally(asIOException(e));
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        result.completeExceptionally(new IOException("Consulta de CEP cancelada"));
+                    }
+                });
+        // Cancelar o futuro devolvido aborta a requisição e libera a conexão
+        result.whenComplete((info, error) -> {
+            if (result.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    // Dispara uma segunda requisição se a primeira não responder dentro do atraso configurado
+    // (ou falhar antes dele); vale a primeira resposta bem-sucedida e a outra é cancelada
+    private CompletableFuture<CepInfo> hedgedFetch(String cep) {
+        CompletableFuture<CepInfo> result = new CompletableFuture<>();
+        List<CompletableFuture<CepInfo>> requests = new CopyOnWriteArrayList<>();
+        AtomicBoolean hedged = new AtomicBoolean();
+        // A falha da primeira sempre dispara a segunda, então o resultado só falha quando as duas falham
+        AtomicInteger pending = new AtomicInteger(2);
+        BiConsumer<CepInfo, Throwable> onDone = (info, error) -> {
+            if (error == null) {
+                result.complete(info);
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        };
+        Runnable hedge = () -> {
+            if (!result.isDone() && hedged.compareAndSet(false, true)) {
+                CompletableFuture<CepInfo> request = fetch(cep);
+                requests.add(request);
+                request.whenComplete(onDone);
+            }
+        };
+
+        CompletableFuture<CepInfo> primary = fetch(cep);
+        requests.add(primary);
+        primary.whenComplete((info, error) -> {
+            if (error != null) {
+                hedge.run();
+            }
+            onDone.accept(info, error);
+        });
+        CompletableFuture.delayedExecutor(hedgeDelayMillis, TimeUnit.MILLISECONDS).execute(hedge);
+        result.whenComplete((info, error) -> requests.forEach(request -> request.cancel(true)));
+        return result;
+    }
+
+    private static IOException asIOException(Throwable cause) {
+        return cause instanceof IOException io ? io : new IOException(cause);
+    }
+
+    // Só devolve resultado para respostas definitivas; qualquer outra coisa é tratada como falha de transporte
+    public static CepInfo parse(String result) throws IOException {
+        if (result == null || !result.trim().startsWith("{")) {
+            throw new IOException("Resposta não-JSON do ViaCEP: " + result);
+        }
+        JsonReader reader = new JsonReader(new StringReader(result));
+        reader.setLenient(true);
+        JsonElement jsonElement = GSON.fromJson(reader, JsonElement.class);
+        if (jsonElement == null || !jsonElement.isJsonObject()) {
+            throw new IOException("Resposta inesperada do ViaCEP: " + result);
+        }
+        JsonObject json = jsonElement.getAsJsonObject();
+        if (json.has("erro") && json.get("erro").getAsBoolean()) {
+            return CepInfo.invalid();
+        }
+        return CepInfo.of(json.has("uf") ? json.get("uf").getAsString() : null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        httpClient.close();
+    }
+}
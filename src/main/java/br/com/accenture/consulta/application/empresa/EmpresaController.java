@@ -1,26 +1,37 @@
 package br.com.accenture.consulta.application.empresa;
 
 
-import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
-import br.com.accenture.consulta.application.fornecedor.FornecedorMapper;
+import br.com.accenture.consulta.application.campos.Campos;
+import br.com.accenture.consulta.application.fornecedor.FornecedorOrdenacao;
+import br.com.accenture.consulta.application.fornecedor.TipoPessoa;
 import br.com.accenture.consulta.application.fornecedor.FornecedorServiceImpl;
+import br.com.accenture.consulta.application.etag.EntityTags;
+import br.com.accenture.consulta.application.exportacao.ExportFormat;
+import br.com.accenture.consulta.application.exportacao.ExportService;
+import br.com.accenture.consulta.application.importacao.ImportFormat;
+import br.com.accenture.consulta.application.importacao.ImportReport;
+import br.com.accenture.consulta.application.paginacao.CursorSlice;
+import br.com.accenture.consulta.application.sugestao.Sugestao;
+import br.com.accenture.consulta.application.sugestao.SugestaoIndex;
+import br.com.accenture.consulta.domain.busca.NomeBusca;
 import br.com.accenture.consulta.domain.entities.Empresa;
-import br.com.accenture.consulta.domain.entities.Fornecedor;
 import br.com.accenture.consulta.domain.exception.DuplicatedTupleException;
 import br.com.accenture.consulta.domain.service.EmpresaService;
-import br.com.accenture.consulta.domain.service.FornecedorService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/empresas")
@@ -30,34 +41,66 @@ public class EmpresaController {
 
     private final EmpresaService empresaService;
     private final EmpresaMapper empresaMapper;
-    private final FornecedorService fornecedorService;
-    private final FornecedorMapper fornecedorMapper;
+    private final ExportService exportService;
+    private final EmpresaImportService importService;
+    private final SugestaoIndex sugestaoIndex;
 
+    // fields=cnpj,fornecedorDtos.nome em qualquer leitura devolve só esses campos e tem precedência sobre include
     @GetMapping("/cnpj/{cnpj}")
-    public ResponseEntity<EmpresaDto> getByCnpj(@PathVariable String cnpj) {
-        Optional<Empresa> empresa = empresaService.getByCnpj(cnpj);
-        return empresa.map(e -> ResponseEntity.ok(empresaMapper.mapToEmpresaDto(e)))
+    public ResponseEntity<?> getByCnpj(@PathVariable String cnpj,
+                                       @RequestParam(required = false) String include,
+                                       @RequestParam(required = false) String fields,
+                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Campos campos = Campos.empresa(fields);
+        FetchPlan fetchPlan = campos == null ? FetchPlan.from(include) : campos.fetchPlan();
+        if (ifNoneMatch != null) {
+            Optional<String> etag = empresaService.getEtagByCnpj(cnpj, fetchPlan);
+            if (etag.isPresent() && EntityTags.matchesIfNoneMatch(ifNoneMatch, etag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+            }
+        }
+        Optional<EmpresaDto> empresa = empresaService.getByCnpj(cnpj, fetchPlan);
+        return empresa.map(dto -> ResponseEntity.ok().eTag(EntityTags.empresa(dto, fetchPlan))
+                        .body(campos == null ? dto : campos.aplicar(dto)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/nomeFantasia/{nomeFantasia}")
-    public ResponseEntity<List<EmpresaDto>> getByNomeFantasia(@PathVariable String nomeFantasia) {
-       List <Empresa> empresa = empresaService.getByNomeFantasia(nomeFantasia);
+    public ResponseEntity<List<?>> getByNomeFantasia(@PathVariable String nomeFantasia,
+                                                     @RequestParam(required = false) String include,
+                                                     @RequestParam(required = false) String fields) {
+        Campos campos = Campos.empresa(fields);
+        List<?> empresa = campos == null
+                ? empresaService.getByNomeFantasia(nomeFantasia, FetchPlan.from(include))
+                : empresaService.getByNomeFantasia(nomeFantasia, campos);
         if (!empresa.isEmpty()) {
-            return ResponseEntity.ok(
-                     empresa.stream()
-                            .map(empresaMapper::mapToEmpresaDto)
-                            .collect(Collectors.toList())
-            );
+            return ResponseEntity.ok(empresa);
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmpresas(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(out -> exportService.exportEmpresas(out, exportFormat));
+    }
+
     @GetMapping
-    public ResponseEntity<Page<EmpresaDto>> getAllEmpresas(@PageableDefault(size = 10, sort = {"nomeFantasia"}) Pageable pageable) {
-        var page = empresaService.getAllEmpresas(pageable);
+    public ResponseEntity<Page<?>> getAllEmpresas(@PageableDefault(size = 10, sort = {"nomeFantasia"}) Pageable pageable,
+                                                           @RequestParam(required = false) String include,
+                                                           @RequestParam(required = false) String uf,
+                                                           @RequestParam(required = false) String cep,
+                                                           @RequestParam(required = false) String nome,
+                                                           @RequestParam(required = false) String fields) {
+        EmpresaFiltro filtro = EmpresaFiltro.of(uf, cep, nome);
+        Campos campos = Campos.empresa(fields);
+        Page<?> page = campos == null
+                ? empresaService.getAllEmpresas(filtro, pageable, FetchPlan.from(include))
+                : empresaService.getAllEmpresas(filtro, pageable, campos);
         if (page.hasContent()){
             return ResponseEntity.status(HttpStatus.OK).body(page);
         } else {
@@ -65,6 +108,36 @@ public class EmpresaController {
         }
     }
 
+    // Autocomplete servido do índice em memória, sem ida ao banco
+    @GetMapping("/sugestoes")
+    public ResponseEntity<List<Sugestao>> suggest(@RequestParam String q,
+                                                  @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(sugestaoIndex.suggestEmpresas(q, limit));
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity<Page<?>> searchByNomeFantasia(@RequestParam String q,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "20") int size,
+                                                        @RequestParam(required = false) String include,
+                                                        @RequestParam(required = false) String fields) {
+        Campos campos = Campos.empresa(fields);
+        return ResponseEntity.ok(campos == null
+                ? empresaService.searchByNomeFantasia(q, NomeBusca.pagina(page, size), FetchPlan.from(include))
+                : empresaService.searchByNomeFantasia(q, NomeBusca.pagina(page, size), campos));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorSlice<?>> getEmpresasByCursor(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "20") int size,
+                                                              @RequestParam(required = false) String include,
+                                                              @RequestParam(required = false) String fields) {
+        Campos campos = Campos.empresa(fields);
+        return ResponseEntity.ok(campos == null
+                ? empresaService.getEmpresasAfter(cursor, size, FetchPlan.from(include))
+                : empresaService.getEmpresasAfter(cursor, size, campos));
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity createEmpresa(@RequestBody EmpresaDto empresaDto) {
@@ -81,17 +154,31 @@ public class EmpresaController {
     }
 
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReport> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importEmpresas(body, ImportFormat.CSV));
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportReport> importNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importEmpresas(body, ImportFormat.NDJSON));
+    }
+
+
     @PutMapping("/{id}")
-    public ResponseEntity update(@PathVariable String id, @RequestBody EmpresaDto dto){
+    public ResponseEntity update(@PathVariable String id, @RequestBody EmpresaDto dto,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
         try {
             Optional<Empresa> existingUser = empresaService.getById(id);
 
             if (existingUser.isPresent()) {
                 Empresa updatedEmpresa = empresaMapper.mapToEmpresa(dto);
                 updatedEmpresa.setId(id);
-                empresaService.updateEmpresa(updatedEmpresa);
+                Optional<Empresa> updated = empresaService.updateEmpresa(updatedEmpresa, ifMatch);
 
-                return ResponseEntity.status(HttpStatus.OK).build();
+                return updated
+                        .map(e -> ResponseEntity.status(HttpStatus.OK).eTag(EntityTags.empresa(e.getId(), e.getVersion())).build())
+                        .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
             } else {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
             }
@@ -116,25 +203,7 @@ public class EmpresaController {
             @PathVariable String id,
             @RequestBody List<String> fornecedoresIds) {
 
-        Optional<Empresa> empresaOpt = empresaService.getById(id);
-
-        if (empresaOpt.isPresent()) {
-            Empresa empresa = empresaOpt.get();
-
-            List<Fornecedor> novosFornecedores = fornecedorService.getByIds(fornecedoresIds);
-
-            List<Fornecedor> fornecedoresAtuais = empresa.getFornecedores();
-
-            for (Fornecedor fornecedor : novosFornecedores) {
-                if (!fornecedoresAtuais.contains(fornecedor)) {
-                    fornecedoresAtuais.add(fornecedor);
-                }
-            }
-
-            empresa.setFornecedores(fornecedoresAtuais);
-
-            empresaService.save(empresa);
-
+        if (empresaService.vincularFornecedores(id, fornecedoresIds).isPresent()) {
             return ResponseEntity.ok("Fornecedores vinculados com sucesso.");
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Empresa não encontrada.");
@@ -145,19 +214,21 @@ public class EmpresaController {
 
 
     @GetMapping("/cnpj/{cnpj}/fornecedores")
-    public ResponseEntity<List<FornecedorDto>> getFornecedoresByCnpj(@PathVariable String cnpj) {
-        Optional<Empresa> empresaOpt = empresaService.getByCnpj(cnpj);
-
-        if (empresaOpt.isPresent()) {
-            Empresa empresa = empresaOpt.get();
-            List<FornecedorDto> fornecedorDtos = empresa.getFornecedores().stream()
-                    .map(fornecedorMapper::mapToFornecedorDto)
-                    .collect(Collectors.toList());
-
-            return ResponseEntity.ok(fornecedorDtos);
-        }
-
-        return ResponseEntity.notFound().build();
+    public ResponseEntity<CursorSlice<?>> getFornecedoresByCnpj(@PathVariable String cnpj,
+                                                                @RequestParam(required = false) String nome,
+                                                                @RequestParam(required = false) String tipo,
+                                                                @RequestParam(required = false) String sort,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "20") int size,
+                                                                @RequestParam(required = false) String fields) {
+        TipoPessoa tipoPessoa = TipoPessoa.from(tipo);
+        FornecedorOrdenacao ordenacao = FornecedorOrdenacao.from(sort);
+        Campos campos = Campos.fornecedor(fields);
+        Optional<? extends CursorSlice<?>> fornecedores = campos == null
+                ? empresaService.getFornecedores(cnpj, nome, tipoPessoa, ordenacao, cursor, size)
+                : empresaService.getFornecedores(cnpj, nome, tipoPessoa, ordenacao, cursor, size, campos);
+        return fornecedores.<ResponseEntity<CursorSlice<?>>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping("/desvincular-fornecedor/{id}")
@@ -165,19 +236,7 @@ public class EmpresaController {
             @PathVariable String id,
             @RequestBody List<String> fornecedoresIds) {
 
-        Optional<Empresa> empresaOpt = empresaService.getById(id);
-
-        if (empresaOpt.isPresent()) {
-            Empresa empresa = empresaOpt.get();
-
-            List<Fornecedor> fornecedoresAtualizados = empresa.getFornecedores()
-                    .stream()
-                    .filter(fornecedor -> !fornecedoresIds.contains(fornecedor.getId()))
-                    .collect(Collectors.toList());
-
-            empresa.setFornecedores(fornecedoresAtualizados);
-            empresaService.save(empresa);  // Salva a empresa com os fornecedores atualizados
-
+        if (empresaService.desvincularFornecedores(id, fornecedoresIds).isPresent()) {
             return ResponseEntity.ok("Fornecedores desvinculados com sucesso.");
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Empresa não encontrada.");
@@ -1,6 +1,7 @@
 package br.com.accenture.consulta.application.empresa;
 
 import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,18 +16,34 @@ public class EmpresaDto {
     private String cnpj;
     private String nomeFantasia;
     private String cep;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<FornecedorDto> fornecedorDtos;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalFornecedores;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
 
     public void setCnpj(String cnpj) {
         this.cnpj = cnpj.replaceAll("[^\\d]", "");
     }
 
     public EmpresaDto(String id,String cnpj, String nomeFantasia, String cep, List<FornecedorDto> fornecedorDtos) {
+        this(id, cnpj, nomeFantasia, cep, fornecedorDtos, null);
+    }
+
+    public EmpresaDto(String id, String cnpj, String nomeFantasia, String cep, List<FornecedorDto> fornecedorDtos, Long totalFornecedores) {
+        this(id, cnpj, nomeFantasia, cep, fornecedorDtos, totalFornecedores, null);
+    }
+
+    public EmpresaDto(String id, String cnpj, String nomeFantasia, String cep, List<FornecedorDto> fornecedorDtos,
+                      Long totalFornecedores, Long version) {
         this.id = id;
         this.cnpj = cnpj;
         this.nomeFantasia = nomeFantasia;
         this.cep = cep;
         this.fornecedorDtos = fornecedorDtos;
+        this.totalFornecedores = totalFornecedores;
+        this.version = version;
     }
 
 
@@ -0,0 +1,19 @@
+package br.com.accenture.consulta.application.empresa;
+
+import br.com.accenture.consulta.application.cep.CepFiltros;
+
+/**
+ * Filtros opcionais da listagem de empresas; campos nulos não filtram.
+ */
+public record EmpresaFiltro(String uf, String cepPrefixo, String nomePrefixo) {
+
+    public static final EmpresaFiltro VAZIO = new EmpresaFiltro(null, null, null);
+
+    public static EmpresaFiltro of(String uf, String cep, String nome) {
+        return new EmpresaFiltro(CepFiltros.uf(uf), CepFiltros.prefixo(cep), nome == null || nome.isBlank() ? null : nome);
+    }
+
+    public boolean vazio() {
+        return equals(VAZIO);
+    }
+}
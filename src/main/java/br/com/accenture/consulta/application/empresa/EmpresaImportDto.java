@@ -0,0 +1,18 @@
+package br.com.accenture.consulta.application.empresa;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmpresaImportDto {
+    private String cnpj;
+    private String nomeFantasia;
+    private String cep;
+    // CPF/CNPJ dos fornecedores já cadastrados que devem ser vinculados
+    private List<String> fornecedores;
+}
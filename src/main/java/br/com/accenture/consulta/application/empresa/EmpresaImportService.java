@@ -0,0 +1,255 @@
+package br.com.accenture.consulta.application.empresa;
+
+import br.com.accenture.consulta.application.cache.LookupCache;
+import br.com.accenture.consulta.application.estatistica.Estatisticas;
+import br.com.accenture.consulta.application.importacao.ChunkedImport;
+import br.com.accenture.consulta.application.importacao.CsvLineParser;
+import br.com.accenture.consulta.application.importacao.ImportFormat;
+import br.com.accenture.consulta.application.importacao.ImportReport;
+import br.com.accenture.consulta.application.importacao.ImportRow;
+import br.com.accenture.consulta.application.sugestao.SugestaoIndex;
+import br.com.accenture.consulta.domain.entities.Empresa;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import br.com.accenture.consulta.domain.exception.DuplicatedTupleTranslator;
+import br.com.accenture.consulta.repository.EmpresaRepository;
+import br.com.accenture.consulta.repository.FornecedorRef;
+import br.com.accenture.consulta.repository.FornecedorRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Importação em massa de empresas já vinculadas a fornecedores existentes, referenciados pelo
+ * CPF/CNPJ. Os ids dos fornecedores são resolvidos com consultas IN por bloco e as empresas e
+ * linhas de empresa_fornecedor são gravadas em lote, numa transação por bloco.
+ */
+@Service
+public class EmpresaImportService {
+
+    // Mantém cada consulta IN bem abaixo do limite de parâmetros do Postgres
+    private static final int IN_BATCH_SIZE = 1000;
+
+    private final EmpresaRepository empresaRepository;
+    private final FornecedorRepository fornecedorRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final SugestaoIndex sugestaoIndex;
+    private final LookupCache lookupCache;
+    private final Estatisticas estatisticas;
+    private final int chunkSize;
+
+    public EmpresaImportService(EmpresaRepository empresaRepository,
+                                FornecedorRepository fornecedorRepository,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                SugestaoIndex sugestaoIndex,
+                                LookupCache lookupCache,
+                                Estatisticas estatisticas,
+                                @Value("${consulta.import.chunk-size:1000}") int chunkSize) {
+        this.empresaRepository = empresaRepository;
+        this.fornecedorRepository = fornecedorRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.sugestaoIndex = sugestaoIndex;
+        this.lookupCache = lookupCache;
+        this.estatisticas = estatisticas;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportReport importEmpresas(InputStream body, ImportFormat format) throws IOException {
+        return ChunkedImport.run(body, format, chunkSize, this::csvParser, this::parseJson, this::processChunk);
+    }
+
+    private void processChunk(List<ImportRow<EmpresaImportDto>> chunk, ImportReport report) {
+        List<ImportRow<EmpresaImportDto>> rows = rejectDuplicates(chunk, report);
+        Map<String, String> fornecedorIds = resolveFornecedorIds(rows);
+
+        List<Row> valid = new ArrayList<>(rows.size());
+        for (ImportRow<EmpresaImportDto> row : rows) {
+            EmpresaImportDto dto = row.value();
+            List<String> ids = new ArrayList<>();
+            String missing = null;
+            for (String cpfCnpj : distinctDocuments(dto.getFornecedores())) {
+                String id = fornecedorIds.get(cpfCnpj);
+                if (id == null) {
+                    missing = cpfCnpj;
+                    break;
+                }
+                ids.add(id);
+            }
+            if (missing != null) {
+                report.addError(row.line(), dto.getCnpj(), "Fornecedor não encontrado: " + missing);
+            } else {
+                valid.add(new Row(row.line(), dto, ids));
+            }
+        }
+        persist(valid, report);
+    }
+
+    private List<ImportRow<EmpresaImportDto>> rejectDuplicates(List<ImportRow<EmpresaImportDto>> chunk, ImportReport report) {
+        Set<String> cnpjs = new HashSet<>();
+        List<ImportRow<EmpresaImportDto>> unique = new ArrayList<>(chunk.size());
+        for (ImportRow<EmpresaImportDto> row : chunk) {
+            String cnpj = row.value().getCnpj();
+            if (cnpj != null && !cnpjs.add(cnpj)) {
+                report.addError(row.line(), cnpj, "CNPJ já existe.");
+            } else {
+                unique.add(row);
+            }
+        }
+
+        Set<String> existing = new HashSet<>(empresaRepository.findExistingCnpjs(cnpjs));
+        List<ImportRow<EmpresaImportDto>> accepted = new ArrayList<>(unique.size());
+        for (ImportRow<EmpresaImportDto> row : unique) {
+            if (existing.contains(row.value().getCnpj())) {
+                report.addError(row.line(), row.value().getCnpj(), "CNPJ já existe.");
+            } else {
+                accepted.add(row);
+            }
+        }
+        return accepted;
+    }
+
+    private Map<String, String> resolveFornecedorIds(List<ImportRow<EmpresaImportDto>> rows) {
+        Set<String> documents = new LinkedHashSet<>();
+        for (ImportRow<EmpresaImportDto> row : rows) {
+            documents.addAll(distinctDocuments(row.value().getFornecedores()));
+        }
+
+        Map<String, String> ids = new HashMap<>(documents.size() * 2);
+        List<String> batch = new ArrayList<>(IN_BATCH_SIZE);
+        for (String document : documents) {
+            batch.add(document);
+            if (batch.size() == IN_BATCH_SIZE) {
+                fornecedorRepository.findRefsByCpfCnpjIn(batch).forEach(ref -> ids.put(ref.getCpfCnpj(), ref.getId()));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            fornecedorRepository.findRefsByCpfCnpjIn(batch).forEach(ref -> ids.put(ref.getCpfCnpj(), ref.getId()));
+        }
+        return ids;
+    }
+
+    private void persist(List<Row> rows, ImportReport report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            List<Empresa> persisted = new ArrayList<>(rows.size());
+            transactionTemplate.executeWithoutResult(status -> {
+                rows.forEach(row -> persisted.add(persistRow(row)));
+                entityManager.flush();
+                entityManager.clear();
+            });
+            report.addImported(rows.size());
+            persisted.forEach(this::indexed);
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            // Uma inserção concorrente venceu algum CNPJ: refaz o bloco linha a linha para apontar qual.
+            // O flush direto no EntityManager não passa pela tradução de exceções dos repositórios
+            for (Row row : rows) {
+                try {
+                    Empresa empresa = transactionTemplate.execute(status -> {
+                        Empresa persisted = persistRow(row);
+                        entityManager.flush();
+                        entityManager.clear();
+                        return persisted;
+                    });
+                    report.addImported(1);
+                    indexed(empresa);
+                } catch (DataIntegrityViolationException | ConstraintViolationException rowError) {
+                    report.addError(row.line(), row.dto().getCnpj(), DuplicatedTupleTranslator.translate(rowError)
+                            .map(RuntimeException::getMessage)
+                            .orElse("Erro de integridade."));
+                }
+            }
+        }
+    }
+
+    // Referências (proxies) evitam carregar os fornecedores; o Hibernate só grava as linhas do vínculo
+    private Empresa persistRow(Row row) {
+        List<Fornecedor> fornecedores = new ArrayList<>(row.fornecedorIds().size());
+        for (String id : row.fornecedorIds()) {
+            fornecedores.add(entityManager.getReference(Fornecedor.class, id));
+        }
+        Empresa empresa = Empresa.builder()
+                .cnpj(row.dto().getCnpj())
+                .nomeFantasia(row.dto().getNomeFantasia())
+                .cep(row.dto().getCep())
+                .fornecedores(fornecedores)
+                .build();
+        entityManager.persist(empresa);
+        return empresa;
+    }
+
+    // Novos CNPJs podem ter um "não encontrado" em cache
+    private void indexed(Empresa empresa) {
+        lookupCache.invalidate(EmpresaServiceImpl.cnpjKeys(empresa.getCnpj()));
+        sugestaoIndex.empresaSaved(empresa);
+        estatisticas.empresaCriada(empresa);
+    }
+
+    private static Set<String> distinctDocuments(List<String> documents) {
+        Set<String> distinct = new LinkedHashSet<>();
+        if (documents != null) {
+            for (String document : documents) {
+                if (document != null && !document.isBlank()) {
+                    distinct.add(document.replaceAll("[^\\d]", ""));
+                }
+            }
+        }
+        return distinct;
+    }
+
+    private Function<String, EmpresaImportDto> csvParser(CsvLineParser csv) {
+        return line -> {
+            Map<String, String> values = csv.parse(line);
+            String fornecedores = values.get("fornecedores");
+            return clean(new EmpresaImportDto(
+                    values.get("cnpj"),
+                    values.get("nomeFantasia"),
+                    values.get("cep"),
+                    fornecedores == null ? List.of() : Arrays.asList(fornecedores.split(";"))
+            ));
+        };
+    }
+
+    private EmpresaImportDto parseJson(String line) {
+        try {
+            return clean(objectMapper.readValue(line, EmpresaImportDto.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getOriginalMessage());
+        }
+    }
+
+    private static EmpresaImportDto clean(EmpresaImportDto dto) {
+        if (dto.getCnpj() != null) {
+            dto.setCnpj(dto.getCnpj().replaceAll("[^\\d]", ""));
+        }
+        return dto;
+    }
+
+    private record Row(long line, EmpresaImportDto dto, List<String> fornecedorIds) {
+    }
+}
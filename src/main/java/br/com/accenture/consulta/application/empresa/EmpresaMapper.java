@@ -45,7 +45,9 @@ public class EmpresaMapper {
                 empresa.getCnpj(),
                 empresa.getNomeFantasia(),
                 empresa.getCep(),
-                fornecedorDtos
+                fornecedorDtos,
+                null,
+                empresa.getVersion()
         );
     }
 }
@@ -1,19 +1,40 @@
 package br.com.accenture.consulta.application.empresa;
 
+import br.com.accenture.consulta.application.cache.LookupCache;
+import br.com.accenture.consulta.application.campos.Campos;
+import br.com.accenture.consulta.application.estatistica.Estatisticas;
+import br.com.accenture.consulta.application.etag.EntityTags;
 import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
-import br.com.accenture.consulta.application.fornecedor.FornecedorMapper;
+import br.com.accenture.consulta.application.fornecedor.FornecedorOrdenacao;
 import br.com.accenture.consulta.application.fornecedor.FornecedorServiceImpl;
+import br.com.accenture.consulta.application.fornecedor.TipoPessoa;
+import br.com.accenture.consulta.application.paginacao.CursorSlice;
+import br.com.accenture.consulta.application.paginacao.CursorToken;
+import br.com.accenture.consulta.application.sugestao.SugestaoIndex;
+import br.com.accenture.consulta.domain.busca.NomeBusca;
 import br.com.accenture.consulta.domain.entities.Empresa;
 import br.com.accenture.consulta.domain.entities.Fornecedor;
+import br.com.accenture.consulta.domain.exception.PreconditionFailedException;
 import br.com.accenture.consulta.domain.service.EmpresaService;
 import br.com.accenture.consulta.repository.EmpresaRepository;
-import jakarta.transaction.Transactional;
+import br.com.accenture.consulta.repository.EmpresaSpecifications;
+import br.com.accenture.consulta.repository.EmpresaView;
 import lombok.RequiredArgsConstructor;
+import br.com.accenture.consulta.repository.FornecedorLink;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,9 +43,13 @@ import java.util.stream.Collectors;
 public class EmpresaServiceImpl implements EmpresaService {
 
     private final EmpresaRepository empresaRepo;
-    private final EmpresaMapper empresaMapper;
-    private final FornecedorMapper fornecedorMapper;
     private final FornecedorServiceImpl fornecedorService;
+    private final SugestaoIndex sugestaoIndex;
+    private final LookupCache lookupCache;
+    private final Estatisticas estatisticas;
+
+    // Mantém cada IN bem abaixo do limite de parâmetros do Postgres
+    private static final int LINK_BATCH_SIZE = 1000;
 
     @Override
     public Optional<Empresa> getByCnpj(String cnpj) {
@@ -33,7 +58,8 @@ public class EmpresaServiceImpl implements EmpresaService {
 
     @Override
     public List<Empresa> getByNomeFantasia(String nomeFantasia) {
-        return empresaRepo.findByNomeFantasia(nomeFantasia);
+        String termo = NomeBusca.requireTermo(nomeFantasia);
+        return empresaRepo.findByNomeFantasia(termo, NomeBusca.likePattern(termo), PageRequest.of(0, NomeBusca.MAX_RESULTADOS));
     }
 
     @Override
@@ -41,40 +67,230 @@ public class EmpresaServiceImpl implements EmpresaService {
         return empresaRepo.findById(id);
     }
 
+    // Leituras da API: só colunas projetadas, em transação somente-leitura
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EmpresaDto> getByCnpj(String cnpj, FetchPlan fetchPlan) {
+        return lookupCache.get(LookupCache.empresaCnpj(cnpj, fetchPlan), () -> empresaRepo.findViewByCnpj(cnpj)
+                .map(empresa -> toDtos(List.of(empresa), fetchPlan).get(0)));
+    }
+
+    // Com o DTO em cache nem o banco é consultado; sem ele, só as versões são lidas
+    @Override
+    public Optional<String> getEtagByCnpj(String cnpj, FetchPlan fetchPlan) {
+        Optional<EmpresaDto> cached = lookupCache.peek(LookupCache.empresaCnpj(cnpj, fetchPlan));
+        if (cached.isPresent()) {
+            return cached.map(dto -> EntityTags.empresa(dto, fetchPlan));
+        }
+        if (fetchPlan == FetchPlan.FORNECEDORES) {
+            return empresaRepo.findVersionWithFornecedoresByCnpj(cnpj)
+                    .map(v -> EntityTags.empresa(v.id(), v.version(), fetchPlan, v.fornecedorVersions()));
+        }
+        return empresaRepo.findVersionByCnpj(cnpj)
+                .map(v -> EntityTags.empresa(v.id(), v.version(), fetchPlan, null));
+    }
+
     @Override
-    public Page<EmpresaDto> getAllEmpresas(Pageable empresaPageable) {
-        Page<Empresa> empresas = empresaRepo.findAll(empresaPageable);
+    @Transactional(readOnly = true)
+    public List<EmpresaDto> getByNomeFantasia(String nomeFantasia, FetchPlan fetchPlan) {
+        String termo = NomeBusca.requireTermo(nomeFantasia);
+        return toDtos(empresaRepo.findViewsByNomeFantasia(termo, NomeBusca.likePattern(termo),
+                PageRequest.of(0, NomeBusca.MAX_RESULTADOS)), fetchPlan);
+    }
 
-        return empresas.map(empresa -> {
-            List<FornecedorDto> fornecedorDtos = empresa.getFornecedores().stream()
-                    .map(fornecedorMapper::mapToFornecedorDto)
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EmpresaDto> searchByNomeFantasia(String nomeFantasia, Pageable pageable, FetchPlan fetchPlan) {
+        String termo = NomeBusca.requireTermo(nomeFantasia);
+        Page<EmpresaView> empresas = empresaRepo.searchByNomeFantasia(termo, NomeBusca.likePattern(termo), pageable);
+        return new PageImpl<>(toDtos(empresas.getContent(), fetchPlan), empresas.getPageable(), empresas.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EmpresaDto> getAllEmpresas(EmpresaFiltro filtro, Pageable empresaPageable, FetchPlan fetchPlan) {
+        Page<EmpresaView> empresas = filtro.vazio()
+                ? empresaRepo.findAllViews(empresaPageable)
+                : empresaRepo.findViews(EmpresaSpecifications.filtradoPor(filtro), empresaPageable);
+        return new PageImpl<>(toDtos(empresas.getContent(), fetchPlan), empresas.getPageable(), empresas.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<EmpresaDto> getEmpresasAfter(String cursor, int size, FetchPlan fetchPlan) {
+        int limit = CursorToken.clampSize(size);
+        // Busca um a mais para saber se existe próxima fatia sem precisar de count(*)
+        Pageable fetch = PageRequest.of(0, limit + 1);
+        List<EmpresaView> empresas;
+        if (cursor == null || cursor.isBlank()) {
+            empresas = empresaRepo.findFirstByNomeFantasia(fetch);
+        } else {
+            CursorToken after = CursorToken.decode(cursor);
+            if (after.sortKey() == null) {
+                empresas = empresaRepo.findAfterNullNomeFantasia(after.id(), fetch);
+            } else {
+                empresas = empresaRepo.findAfterNomeFantasia(after.sortKey(), after.id(), fetch);
+                // Acabaram os nomes não nulos: a fatia continua pelos nulos, em ordem de id
+                if (empresas.size() <= limit) {
+                    empresas = new ArrayList<>(empresas);
+                    empresas.addAll(empresaRepo.findFirstNullNomeFantasia(PageRequest.of(0, limit + 1 - empresas.size())));
+                }
+            }
+        }
+
+        boolean hasNext = empresas.size() > limit;
+        List<EmpresaView> content = hasNext ? empresas.subList(0, limit) : empresas;
+        String nextCursor = null;
+        if (hasNext) {
+            EmpresaView last = content.get(content.size() - 1);
+            nextCursor = new CursorToken(last.nomeFantasia(), last.id()).encode();
+        }
+        return new CursorSlice<>(toDtos(content, fetchPlan), content.size(), hasNext, nextCursor);
+    }
+
+    // fields=: só as colunas pedidas entram no SELECT; contagem e lista de fornecedores só quando pedidas
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getByNomeFantasia(String nomeFantasia, Campos campos) {
+        String termo = NomeBusca.requireTermo(nomeFantasia);
+        return completar(empresaRepo.findMaps(EmpresaSpecifications.buscaPorNomeFantasia(termo),
+                campos.colunas(List.of("id")), NomeBusca.MAX_RESULTADOS), campos);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> searchByNomeFantasia(String nomeFantasia, Pageable pageable, Campos campos) {
+        String termo = NomeBusca.requireTermo(nomeFantasia);
+        Page<Map<String, Object>> empresas = empresaRepo.findMaps(EmpresaSpecifications.buscaPorNomeFantasia(termo),
+                campos.colunas(List.of("id")), pageable);
+        return new PageImpl<>(completar(empresas.getContent(), campos), empresas.getPageable(), empresas.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllEmpresas(EmpresaFiltro filtro, Pageable empresaPageable, Campos campos) {
+        Specification<Empresa> spec = filtro.vazio() ? null : EmpresaSpecifications.filtradoPor(filtro);
+        Page<Map<String, Object>> empresas = empresaRepo.findMaps(spec, campos.colunas(List.of("id")), empresaPageable);
+        return new PageImpl<>(completar(empresas.getContent(), campos), empresas.getPageable(), empresas.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<Map<String, Object>> getEmpresasAfter(String cursor, int size, Campos campos) {
+        int limit = CursorToken.clampSize(size);
+        CursorToken after = cursor == null || cursor.isBlank() ? null : CursorToken.decode(cursor);
+        List<String> colunas = campos.colunas(List.of("id", "nomeFantasia"));
+        List<Map<String, Object>> empresas = empresaRepo.findMaps(EmpresaSpecifications.porNomeFantasiaApos(after),
+                colunas, limit + 1);
+        // Acabaram os nomes não nulos: a fatia continua pelos nulos, em ordem de id
+        if (after != null && after.sortKey() != null && empresas.size() <= limit) {
+            empresas = new ArrayList<>(empresas);
+            empresas.addAll(empresaRepo.findMaps(EmpresaSpecifications.semNomeFantasia(), colunas,
+                    limit + 1 - empresas.size()));
+        }
+
+        boolean hasNext = empresas.size() > limit;
+        List<Map<String, Object>> content = hasNext ? empresas.subList(0, limit) : empresas;
+        String nextCursor = null;
+        if (hasNext) {
+            Map<String, Object> last = content.get(content.size() - 1);
+            nextCursor = new CursorToken((String) last.get("nomeFantasia"), (String) last.get("id")).encode();
+        }
+        return new CursorSlice<>(completar(new ArrayList<>(content), campos), content.size(), hasNext, nextCursor);
+    }
+
+    // Preenche os campos que não são colunas (uma consulta cada, se pedidos) e tira o que foi lido só para uso interno
+    private List<Map<String, Object>> completar(List<Map<String, Object>> empresas, Campos campos) {
+        if (!empresas.isEmpty() && (campos.contem("totalFornecedores") || campos.fornecedores() != null)) {
+            List<String> ids = empresas.stream().map(empresa -> (String) empresa.get("id")).collect(Collectors.toList());
+            if (campos.contem("totalFornecedores")) {
+                Map<String, Long> totals = new HashMap<>();
+                empresaRepo.countFornecedores(ids).forEach(count -> totals.put(count.empresaId(), count.total()));
+                empresas.forEach(empresa -> empresa.put("totalFornecedores", totals.getOrDefault((String) empresa.get("id"), 0L)));
+            }
+            if (campos.fornecedores() != null) {
+                Map<String, List<Map<String, Object>>> fornecedores = empresaRepo.findFornecedorMaps(ids, campos.fornecedores());
+                empresas.forEach(empresa -> empresa.put("fornecedorDtos",
+                        fornecedores.getOrDefault((String) empresa.get("id"), new ArrayList<>())));
+            }
+        }
+        empresas.forEach(campos::recortar);
+        return empresas;
+    }
+
+    // Uma consulta extra no máximo, qualquer que seja o número de empresas
+    private List<EmpresaDto> toDtos(List<EmpresaView> empresas, FetchPlan fetchPlan) {
+        if (empresas.isEmpty() || fetchPlan == FetchPlan.NONE) {
+            return empresas.stream()
+                    .map(empresa -> toDto(empresa, null, null))
                     .collect(Collectors.toList());
+        }
 
-            return new EmpresaDto(
-                    empresa.getId(),
-                    empresa.getCnpj(),
-                    empresa.getNomeFantasia(),
-                    empresa.getCep(),
-                    fornecedorDtos
-            );
-        });
+        List<String> ids = empresas.stream().map(EmpresaView::id).collect(Collectors.toList());
+        if (fetchPlan == FetchPlan.COUNT) {
+            Map<String, Long> totals = new HashMap<>();
+            empresaRepo.countFornecedores(ids).forEach(count -> totals.put(count.empresaId(), count.total()));
+            return empresas.stream()
+                    .map(empresa -> toDto(empresa, null, totals.getOrDefault(empresa.id(), 0L)))
+                    .collect(Collectors.toList());
+        }
+
+        Map<String, List<FornecedorDto>> fornecedores = new HashMap<>();
+        for (FornecedorLink link : empresaRepo.findFornecedorLinks(ids)) {
+            fornecedores.computeIfAbsent(link.empresaId(), id -> new ArrayList<>()).add(link.fornecedor());
+        }
+        return empresas.stream()
+                .map(empresa -> toDto(empresa, fornecedores.getOrDefault(empresa.id(), new ArrayList<>()), null))
+                .collect(Collectors.toList());
+    }
+
+    private static EmpresaDto toDto(EmpresaView empresa, List<FornecedorDto> fornecedorDtos, Long totalFornecedores) {
+        return new EmpresaDto(
+                empresa.id(),
+                empresa.cnpj(),
+                empresa.nomeFantasia(),
+                empresa.cep(),
+                fornecedorDtos,
+                totalFornecedores,
+                empresa.version()
+        );
     }
 
 
     @Transactional
     @Override
     public Empresa save(Empresa empresa) {
-        return empresaRepo.save(empresa);
+        boolean nova = empresa.getId() == null;
+        List<Fornecedor> emCascata = semId(empresa.getFornecedores());
+        Empresa saved = empresaRepo.save(empresa);
+        lookupCache.invalidate(cnpjKeys(saved.getCnpj()));
+        sugestaoIndex.empresaSaved(saved);
+        indexarFornecedores(saved);
+        emCascata.forEach(estatisticas::fornecedorCriado);
+        if (nova) {
+            estatisticas.empresaCriada(saved);
+        }
+        return saved;
     }
 
 
     @Override
     @Transactional
     public Optional<Empresa> updateEmpresa(Empresa empresa) {
+        return updateEmpresa(empresa, null);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Empresa> updateEmpresa(Empresa empresa, String ifMatch) {
         var existingEmpresaOpt = empresaRepo.findById(empresa.getId());
 
         if (existingEmpresaOpt.isPresent()) {
             Empresa empresaToUpdate = existingEmpresaOpt.get();
+            if (!EntityTags.matchesIfMatch(ifMatch, EntityTags.empresaBase(empresaToUpdate.getId(), empresaToUpdate.getVersion()))) {
+                throw new PreconditionFailedException("Empresa foi alterada desde a última leitura.");
+            }
+            List<String> staleKeys = new ArrayList<>(cnpjKeys(empresaToUpdate.getCnpj()));
 
             // Atualizar os dados básicos (nome fantasia, CNPJ, CEP)
             if (empresa.getNomeFantasia() != null) {
@@ -87,6 +303,7 @@ public class EmpresaServiceImpl implements EmpresaService {
                 empresaToUpdate.setCep(empresa.getCep());
             }
 
+            List<Fornecedor> adicionados = new ArrayList<>();
             if (empresa.getFornecedores() != null) {
                 List<Fornecedor> fornecedoresExistentes = empresaToUpdate.getFornecedores();
                 List<Fornecedor> novosFornecedores = empresa.getFornecedores();
@@ -94,24 +311,123 @@ public class EmpresaServiceImpl implements EmpresaService {
                 for (Fornecedor novoFornecedor : novosFornecedores) {
                     if (!fornecedoresExistentes.contains(novoFornecedor)) {
                         fornecedoresExistentes.add(novoFornecedor);
+                        adicionados.add(novoFornecedor);
                     }
                 }
 
                 empresaToUpdate.setFornecedores(fornecedoresExistentes);
             }
+            List<Fornecedor> emCascata = semId(adicionados);
 
-            return Optional.of(empresaRepo.save(empresaToUpdate));
+            Empresa saved = empresaRepo.save(empresaToUpdate);
+            emCascata.forEach(estatisticas::fornecedorCriado);
+            if (!adicionados.isEmpty()) {
+                estatisticas.vinculosCriados(saved.getId(), adicionados.stream().map(Fornecedor::getId).toList());
+            }
+            staleKeys.addAll(cnpjKeys(saved.getCnpj()));
+            lookupCache.invalidate(staleKeys);
+            sugestaoIndex.empresaSaved(saved);
+            indexarFornecedores(saved);
+            return Optional.of(saved);
         }
 
         return Optional.empty();
     }
 
     @Override
+    public Optional<CursorSlice<FornecedorDto>> getFornecedores(String cnpj, String nomePrefixo, TipoPessoa tipo,
+                                                                FornecedorOrdenacao ordenacao, String cursor, int size) {
+        return empresaRepo.findIdByCnpj(cnpj)
+                .map(empresaId -> fornecedorService.getFornecedoresDaEmpresa(empresaId, nomePrefixo, tipo, ordenacao, cursor, size));
+    }
+
+    @Override
+    public Optional<CursorSlice<Map<String, Object>>> getFornecedores(String cnpj, String nomePrefixo, TipoPessoa tipo,
+                                                                      FornecedorOrdenacao ordenacao, String cursor, int size,
+                                                                      Campos campos) {
+        return empresaRepo.findIdByCnpj(cnpj)
+                .map(empresaId -> fornecedorService.getFornecedoresDaEmpresa(empresaId, nomePrefixo, tipo, ordenacao, cursor, size, campos));
+    }
+
+    // Devolve quantos vínculos foram criados, ou vazio se a empresa não existe; ids inexistentes são ignorados
+    @Override
+    @Transactional
+    public Optional<Integer> vincularFornecedores(String empresaId, Collection<String> fornecedorIds) {
+        return alterarVinculos(empresaId, fornecedorIds, true);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Integer> desvincularFornecedores(String empresaId, Collection<String> fornecedorIds) {
+        return alterarVinculos(empresaId, fornecedorIds, false);
+    }
+
+    private Optional<Integer> alterarVinculos(String empresaId, Collection<String> fornecedorIds, boolean vincular) {
+        Optional<String> cnpj = empresaRepo.findCnpjById(empresaId);
+        if (cnpj.isEmpty()) {
+            return Optional.empty();
+        }
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(fornecedorIds));
+        List<String> alterados = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += LINK_BATCH_SIZE) {
+            List<String> lote = ids.subList(i, Math.min(ids.size(), i + LINK_BATCH_SIZE));
+            // Só o que de fato muda é escrito, e é esse delta que alimenta as estatísticas
+            List<String> delta = vincular
+                    ? empresaRepo.findFornecedorIdsNaoVinculados(empresaId, lote)
+                    : empresaRepo.findFornecedorIdsVinculados(empresaId, lote);
+            if (delta.isEmpty()) {
+                continue;
+            }
+            if (vincular) {
+                empresaRepo.insertFornecedorLinks(empresaId, delta);
+            } else {
+                empresaRepo.deleteFornecedorLinks(empresaId, delta);
+            }
+            alterados.addAll(delta);
+        }
+        if (!alterados.isEmpty()) {
+            empresaRepo.incrementVersion(empresaId);
+            lookupCache.invalidate(cnpjKeys(cnpj.get()));
+            if (vincular) {
+                estatisticas.vinculosCriados(empresaId, alterados);
+            } else {
+                estatisticas.vinculosRemovidos(empresaId, alterados);
+            }
+        }
+        return Optional.of(alterados.size());
+    }
+
+    @Override
+    @Transactional
     public boolean delete(String id) {
-        if (empresaRepo.existsById(id)) {
-            empresaRepo.deleteById(id);
+        Optional<Empresa> empresa = empresaRepo.findById(id);
+        if (empresa.isPresent()) {
+            List<String> fornecedorIds = empresaRepo.findFornecedorIdsByEmpresaId(id);
+            empresaRepo.delete(empresa.get());
+            estatisticas.empresaExcluida(id, fornecedorIds);
+            lookupCache.invalidate(cnpjKeys(empresa.get().getCnpj()));
+            sugestaoIndex.empresaDeleted(id);
             return true;
         }
         return false;
     }
+
+    // Fornecedores gravados em cascata com a empresa também entram no autocomplete
+    private void indexarFornecedores(Empresa empresa) {
+        if (empresa.getFornecedores() != null) {
+            empresa.getFornecedores().forEach(sugestaoIndex::fornecedorSaved);
+        }
+    }
+
+    // Fornecedores sem id são criados junto com a empresa (CascadeType.PERSIST)
+    private static List<Fornecedor> semId(List<Fornecedor> fornecedores) {
+        if (fornecedores == null) {
+            return List.of();
+        }
+        return fornecedores.stream().filter(fornecedor -> fornecedor.getId() == null).toList();
+    }
+
+    static List<String> cnpjKeys(String cnpj) {
+        return LookupCache.empresaCnpj(cnpj, List.of(FetchPlan.values()));
+    }
 }
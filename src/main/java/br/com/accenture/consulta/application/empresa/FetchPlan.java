@@ -0,0 +1,26 @@
+package br.com.accenture.consulta.application.empresa;
+
+import br.com.accenture.consulta.domain.exception.InvalidRequestParameterException;
+
+/**
+ * O que carregar dos fornecedores nas leituras de empresa: a lista completa, só a
+ * quantidade ou nada.
+ */
+public enum FetchPlan {
+    FORNECEDORES,
+    COUNT,
+    NONE;
+
+    public static FetchPlan from(String include) {
+        if (include == null || include.isBlank()) {
+            return FORNECEDORES;
+        }
+        for (FetchPlan plan : values()) {
+            if (plan.name().equalsIgnoreCase(include.trim())) {
+                return plan;
+            }
+        }
+        throw new InvalidRequestParameterException("Valor inválido para include: " + include
+                + ". Use fornecedores, count ou none.");
+    }
+}
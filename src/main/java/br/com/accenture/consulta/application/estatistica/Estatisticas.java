@@ -0,0 +1,159 @@
+package br.com.accenture.consulta.application.estatistica;
+
+import br.com.accenture.consulta.domain.entities.Empresa;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import br.com.accenture.consulta.repository.FornecedorLookupKeys;
+import br.com.accenture.consulta.repository.VinculoCount;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Estatísticas de cadastro e vínculos mantidas incrementalmente: cada escrita dos serviços aplica
+ * o seu delta após o commit, e a leitura só copia contadores, sem consultar o banco.
+ * Uma reconciliação periódica (EstatisticasRecompute) recalcula tudo e corrige desvios, como
+ * escritas feitas por outras instâncias ou direto no banco.
+ */
+@Component
+public class Estatisticas {
+
+    private EstatisticasState state = new EstatisticasState();
+    // Não nulo durante uma reconciliação: os deltas são reaplicados sobre o estado recalculado
+    private List<Consumer<EstatisticasState>> journal;
+    private Instant ultimaReconciliacao;
+    private long divergenciaCorrigida;
+    private long reconciliacoes;
+
+    public void fornecedorCriado(Fornecedor fornecedor) {
+        String cpfCnpj = fornecedor.getCpfCnpj();
+        String cep = fornecedor.getCep();
+        aplicar(s -> s.fornecedorAdicionado(cpfCnpj, cep));
+    }
+
+    public void fornecedorAlterado(String cpfCnpjAntes, String cepAntes, Fornecedor fornecedor) {
+        String cpfCnpj = fornecedor.getCpfCnpj();
+        String cep = fornecedor.getCep();
+        aplicar(s -> s.fornecedorAlterado(cpfCnpjAntes, cepAntes, cpfCnpj, cep));
+    }
+
+    // vinculosPorEmpresa: quantos vínculos cada empresa perdeu com a exclusão
+    public void fornecedoresExcluidos(Collection<FornecedorLookupKeys> excluidos, Collection<VinculoCount> vinculosPorEmpresa) {
+        List<String[]> fornecedores = new ArrayList<>(excluidos.size());
+        for (FornecedorLookupKeys keys : excluidos) {
+            fornecedores.add(new String[]{keys.getId(), keys.getCpfCnpj(), keys.getCep()});
+        }
+        List<VinculoCount> vinculos = List.copyOf(vinculosPorEmpresa);
+        aplicar(s -> {
+            for (VinculoCount vinculo : vinculos) {
+                s.vinculosEmpresa(vinculo.getId(), -vinculo.getTotal());
+            }
+            for (String[] fornecedor : fornecedores) {
+                s.fornecedorRemovido(fornecedor[0], fornecedor[1], fornecedor[2]);
+            }
+        });
+    }
+
+    public void empresaCriada(Empresa empresa) {
+        String id = empresa.getId();
+        List<String> fornecedorIds = new ArrayList<>();
+        if (empresa.getFornecedores() != null) {
+            for (Fornecedor fornecedor : empresa.getFornecedores()) {
+                fornecedorIds.add(fornecedor.getId());
+            }
+        }
+        aplicar(s -> {
+            s.empresaAdicionada();
+            vincular(s, id, fornecedorIds, 1);
+        });
+    }
+
+    public void empresaExcluida(String id, Collection<String> fornecedorIds) {
+        List<String> ids = List.copyOf(fornecedorIds);
+        aplicar(s -> {
+            for (String fornecedorId : ids) {
+                s.vinculosFornecedor(fornecedorId, -1);
+            }
+            s.empresaRemovida(id);
+        });
+    }
+
+    public void vinculosCriados(String empresaId, Collection<String> fornecedorIds) {
+        List<String> ids = List.copyOf(fornecedorIds);
+        aplicar(s -> vincular(s, empresaId, ids, 1));
+    }
+
+    public void vinculosRemovidos(String empresaId, Collection<String> fornecedorIds) {
+        List<String> ids = List.copyOf(fornecedorIds);
+        aplicar(s -> vincular(s, empresaId, ids, -1));
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> result = state.snapshot();
+        result.put("ultimaReconciliacao", ultimaReconciliacao);
+        result.put("reconciliacoes", reconciliacoes);
+        result.put("divergenciaCorrigida", divergenciaCorrigida);
+        result.put("reconciliando", journal != null);
+        return result;
+    }
+
+    synchronized void iniciarReconciliacao() {
+        journal = new ArrayList<>();
+    }
+
+    // Deltas confirmados durante o scan entram por cima dele; a janela até o snapshot do banco pode contar em dobro
+    synchronized void concluirReconciliacao(EstatisticasState recalculado) {
+        for (Consumer<EstatisticasState> delta : journal) {
+            delta.accept(recalculado);
+        }
+        journal = null;
+        divergenciaCorrigida = reconciliacoes == 0 ? 0 : state.divergencia(recalculado);
+        state = recalculado;
+        ultimaReconciliacao = Instant.now();
+        reconciliacoes++;
+    }
+
+    synchronized void cancelarReconciliacao() {
+        journal = null;
+    }
+
+    private static void vincular(EstatisticasState s, String empresaId, List<String> fornecedorIds, int sinal) {
+        if (fornecedorIds.isEmpty()) {
+            return;
+        }
+        s.vinculosEmpresa(empresaId, (long) sinal * fornecedorIds.size());
+        for (String fornecedorId : fornecedorIds) {
+            s.vinculosFornecedor(fornecedorId, sinal);
+        }
+    }
+
+    private void aplicar(Consumer<EstatisticasState> delta) {
+        afterCommit(() -> {
+            synchronized (this) {
+                delta.accept(state);
+                if (journal != null) {
+                    journal.add(delta);
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
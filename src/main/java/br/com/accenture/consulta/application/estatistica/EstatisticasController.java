@@ -0,0 +1,36 @@
+package br.com.accenture.consulta.application.estatistica;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/estatisticas")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:8082")
+public class EstatisticasController {
+
+    private final Estatisticas estatisticas;
+    private final EstatisticasRecompute recompute;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getEstatisticas() {
+        return ResponseEntity.ok(estatisticas.snapshot());
+    }
+
+    // Força a reconciliação completa; 409 se já houver uma em andamento
+    @PostMapping("/recalcular")
+    public ResponseEntity<Map<String, Object>> recalcular() {
+        if (!recompute.recompute()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "Reconciliação já em andamento."));
+        }
+        return ResponseEntity.ok(estatisticas.snapshot());
+    }
+}
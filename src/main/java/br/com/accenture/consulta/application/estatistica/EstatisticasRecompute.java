@@ -0,0 +1,93 @@
+package br.com.accenture.consulta.application.estatistica;
+
+import br.com.accenture.consulta.repository.EmpresaRepository;
+import br.com.accenture.consulta.repository.FornecedorPerfil;
+import br.com.accenture.consulta.repository.FornecedorRepository;
+import br.com.accenture.consulta.repository.VinculoCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Recalcula as estatísticas do zero na subida e periodicamente. As contagens de vínculos saem
+ * agrupadas direto de empresa_fornecedor; os fornecedores são lidos em streaming (só CPF/CNPJ e CEP).
+ * Tudo roda num único snapshot (REPEATABLE READ) para os totais baterem entre si.
+ */
+@Slf4j
+@Component
+public class EstatisticasRecompute implements ApplicationRunner {
+
+    private final Estatisticas estatisticas;
+    private final FornecedorRepository fornecedorRepository;
+    private final EmpresaRepository empresaRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public EstatisticasRecompute(Estatisticas estatisticas,
+                                 FornecedorRepository fornecedorRepository,
+                                 EmpresaRepository empresaRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.estatisticas = estatisticas;
+        this.fornecedorRepository = fornecedorRepository;
+        this.empresaRepository = empresaRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        scheduled();
+    }
+
+    @Scheduled(fixedDelayString = "${consulta.estatisticas.recompute-interval:PT1H}",
+            initialDelayString = "${consulta.estatisticas.recompute-interval:PT1H}")
+    public void scheduled() {
+        try {
+            recompute();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao recalcular as estatísticas: {}", e.getMessage());
+        }
+    }
+
+    // Devolve false se já havia uma reconciliação em andamento
+    public boolean recompute() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            estatisticas.iniciarReconciliacao();
+            EstatisticasState recalculado = snapshotTransaction.execute(status -> load());
+            estatisticas.concluirReconciliacao(recalculado);
+            return true;
+        } catch (RuntimeException e) {
+            estatisticas.cancelarReconciliacao();
+            throw e;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private EstatisticasState load() {
+        EstatisticasState state = new EstatisticasState();
+        state.contarEmpresas(empresaRepository.count());
+        try (Stream<FornecedorPerfil> rows = fornecedorRepository.streamAllPerfis()) {
+            rows.forEach(row -> state.fornecedorAdicionado(row.cpfCnpj(), row.cep()));
+        }
+        try (Stream<VinculoCount> rows = empresaRepository.streamVinculosPorEmpresa()) {
+            rows.forEach(row -> state.vinculosEmpresa(row.getId(), row.getTotal()));
+        }
+        try (Stream<VinculoCount> rows = empresaRepository.streamVinculosPorFornecedor()) {
+            rows.forEach(row -> state.vinculosFornecedor(row.getId(), row.getTotal()));
+        }
+        return state;
+    }
+}
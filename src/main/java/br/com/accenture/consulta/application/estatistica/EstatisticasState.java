@@ -0,0 +1,153 @@
+package br.com.accenture.consulta.application.estatistica;
+
+import br.com.accenture.consulta.domain.cep.CepUfTable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Contadores das estatísticas. Não é thread-safe: quem usa (Estatisticas) serializa o acesso.
+ * Os mapas de vínculos só guardam quem tem pelo menos um vínculo; a faixa "0" sai do total.
+ */
+final class EstatisticasState {
+
+    static final String UF_DESCONHECIDA = "N/D";
+
+    private static final String[] FAIXAS = {"1", "2-10", "11-100", "101-1000", "1001+"};
+
+    private long empresas;
+    private long fornecedores;
+    private long vinculos;
+    private long pessoaFisica;
+    private long pessoaJuridica;
+    private final Map<String, Long> fornecedoresPorUf = new HashMap<>();
+    private final Map<String, Integer> fornecedoresPorEmpresa = new HashMap<>();
+    private final Map<String, Integer> empresasPorFornecedor = new HashMap<>();
+    private final long[] faixasEmpresas = new long[FAIXAS.length];
+    private final long[] faixasFornecedores = new long[FAIXAS.length];
+
+    void fornecedorAdicionado(String cpfCnpj, String cep) {
+        fornecedores++;
+        ajustarPerfil(cpfCnpj, cep, 1);
+    }
+
+    void fornecedorAlterado(String cpfCnpjAntes, String cepAntes, String cpfCnpj, String cep) {
+        ajustarPerfil(cpfCnpjAntes, cepAntes, -1);
+        ajustarPerfil(cpfCnpj, cep, 1);
+    }
+
+    // Os vínculos do fornecedor já devem ter saído pelo lado das empresas
+    void fornecedorRemovido(String id, String cpfCnpj, String cep) {
+        fornecedores--;
+        ajustarPerfil(cpfCnpj, cep, -1);
+        Integer total = empresasPorFornecedor.remove(id);
+        if (total != null) {
+            faixasFornecedores[faixa(total)]--;
+        }
+    }
+
+    void empresaAdicionada() {
+        empresas++;
+    }
+
+    // Os vínculos da empresa já devem ter saído pelo lado dos fornecedores
+    void empresaRemovida(String id) {
+        empresas--;
+        Integer total = fornecedoresPorEmpresa.remove(id);
+        if (total != null) {
+            faixasEmpresas[faixa(total)]--;
+            vinculos -= total;
+        }
+    }
+
+    void vinculosEmpresa(String empresaId, long delta) {
+        ajustar(fornecedoresPorEmpresa, faixasEmpresas, empresaId, delta);
+        vinculos += delta;
+    }
+
+    void vinculosFornecedor(String fornecedorId, long delta) {
+        ajustar(empresasPorFornecedor, faixasFornecedores, fornecedorId, delta);
+    }
+
+    void contarEmpresas(long total) {
+        empresas += total;
+    }
+
+    Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("empresas", empresas);
+        result.put("fornecedores", fornecedores);
+        result.put("vinculos", vinculos);
+        result.put("pessoaFisica", pessoaFisica);
+        result.put("pessoaJuridica", pessoaJuridica);
+        result.put("fornecedoresPorUf", new TreeMap<>(fornecedoresPorUf));
+        result.put("fornecedoresPorEmpresa", distribuicao(empresas, fornecedoresPorEmpresa.size(), faixasEmpresas));
+        result.put("empresasPorFornecedor", distribuicao(fornecedores, empresasPorFornecedor.size(), faixasFornecedores));
+        return result;
+    }
+
+    // Soma das diferenças absolutas dos totais principais, usada para medir o desvio corrigido
+    long divergencia(EstatisticasState outro) {
+        return Math.abs(empresas - outro.empresas)
+                + Math.abs(fornecedores - outro.fornecedores)
+                + Math.abs(vinculos - outro.vinculos)
+                + Math.abs(pessoaFisica - outro.pessoaFisica)
+                + Math.abs(pessoaJuridica - outro.pessoaJuridica);
+    }
+
+    private Map<String, Object> distribuicao(long total, int comVinculo, long[] faixas) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("media", total == 0 ? 0.0 : (double) vinculos / total);
+        Map<String, Long> porFaixa = new LinkedHashMap<>();
+        porFaixa.put("0", Math.max(0, total - comVinculo));
+        for (int i = 0; i < FAIXAS.length; i++) {
+            porFaixa.put(FAIXAS[i], faixas[i]);
+        }
+        result.put("faixas", porFaixa);
+        return result;
+    }
+
+    private void ajustarPerfil(String cpfCnpj, String cep, int delta) {
+        // Mesma regra de Fornecedor.isPessoaFisica
+        if (cpfCnpj != null && cpfCnpj.length() == 11) {
+            pessoaFisica += delta;
+        } else {
+            pessoaJuridica += delta;
+        }
+        String uf = CepUfTable.ufOf(cep);
+        fornecedoresPorUf.merge(uf == null ? UF_DESCONHECIDA : uf, (long) delta,
+                (atual, soma) -> atual + soma == 0 ? null : atual + soma);
+    }
+
+    private static void ajustar(Map<String, Integer> contagens, long[] faixas, String id, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        Integer antes = contagens.get(id);
+        int depois = (int) Math.max(0, (antes == null ? 0 : antes) + delta);
+        if (antes != null) {
+            faixas[faixa(antes)]--;
+        }
+        if (depois > 0) {
+            contagens.put(id, depois);
+            faixas[faixa(depois)]++;
+        } else {
+            contagens.remove(id);
+        }
+    }
+
+    private static int faixa(int total) {
+        if (total <= 1) {
+            return 0;
+        }
+        if (total <= 10) {
+            return 1;
+        }
+        if (total <= 100) {
+            return 2;
+        }
+        return total <= 1000 ? 3 : 4;
+    }
+}
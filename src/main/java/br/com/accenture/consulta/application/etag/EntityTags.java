@@ -0,0 +1,117 @@
+package br.com.accenture.consulta.application.etag;
+
+import br.com.accenture.consulta.application.empresa.EmpresaDto;
+import br.com.accenture.consulta.application.empresa.FetchPlan;
+import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
+
+import java.util.Locale;
+
+/**
+ * ETags fortes derivados das colunas de versão, calculáveis sem serializar (nem carregar) a resposta.
+ * Fornecedor: "f-{id}-v{versão}". Empresa: "e-{id}-v{versão}-{plano}", e no plano com fornecedores
+ * também a soma das versões deles, que cresce sempre que algum fornecedor vinculado é alterado
+ * (mudanças de vínculo já incrementam a versão da própria empresa).
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String fornecedor(String id, Long version) {
+        return quote("f-" + id + "-v" + orZero(version));
+    }
+
+    // Parte da tag que identifica o estado da própria empresa, usada no If-Match
+    public static String empresaBase(String id, Long version) {
+        return "e-" + id + "-v" + orZero(version);
+    }
+
+    // Tag da empresa sem plano, para respostas sem corpo (PUT); casa com o If-Match da próxima escrita
+    public static String empresa(String id, Long version) {
+        return quote(empresaBase(id, version));
+    }
+
+    public static String fornecedor(FornecedorDto dto) {
+        return fornecedor(dto.getId(), dto.getVersion());
+    }
+
+    public static String empresa(EmpresaDto dto, FetchPlan plan) {
+        Long fornecedorVersions = null;
+        if (plan == FetchPlan.FORNECEDORES) {
+            long sum = 0;
+            if (dto.getFornecedorDtos() != null) {
+                for (FornecedorDto fornecedor : dto.getFornecedorDtos()) {
+                    sum += orZero(fornecedor.getVersion());
+                }
+            }
+            fornecedorVersions = sum;
+        }
+        return empresa(dto.getId(), dto.getVersion(), plan, fornecedorVersions);
+    }
+
+    public static String empresa(String id, Long version, FetchPlan plan, Long fornecedorVersions) {
+        String tag = empresaBase(id, version) + "-" + plan.name().toLowerCase(Locale.ROOT);
+        return quote(fornecedorVersions == null ? tag : tag + "-" + fornecedorVersions);
+    }
+
+    // If-None-Match usa comparação fraca: W/"x" casa com "x"
+    public static boolean matchesIfNoneMatch(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        String value = unquote(etag);
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (unquote(tag).equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Match usa comparação forte. Para a empresa basta casar a parte base, já que o cliente
+     * pode ter lido qualquer um dos planos; a tag precisa ser exatamente a base ou a base seguida de '-'.
+     */
+    public static boolean matchesIfMatch(String header, String base) {
+        if (header == null) {
+            return true;
+        }
+        String value = unquote(base);
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                continue;
+            }
+            String unquoted = unquote(tag);
+            if (unquoted.equals(value) || unquoted.startsWith(value + "-")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long orZero(Long version) {
+        return version == null ? 0 : version;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private static String unquote(String tag) {
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            return tag.substring(1, tag.length() - 1);
+        }
+        return tag;
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.accenture.consulta.application.exportacao;
+
+import br.com.accenture.consulta.application.fornecedor.FornecedorMapper;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import br.com.accenture.consulta.repository.EmpresaRepository;
+import br.com.accenture.consulta.repository.EmpresaResumo;
+import br.com.accenture.consulta.repository.FornecedorRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportação completa de empresas e fornecedores direto para a resposta. As linhas vêm de um
+ * cursor somente-leitura com fetch size, e cada entidade é desanexada após ser escrita, então
+ * o uso de memória não depende do tamanho das tabelas.
+ */
+@Service
+public class ExportService {
+
+    private final FornecedorRepository fornecedorRepository;
+    private final EmpresaRepository empresaRepository;
+    private final FornecedorMapper fornecedorMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(FornecedorRepository fornecedorRepository,
+                         EmpresaRepository empresaRepository,
+                         FornecedorMapper fornecedorMapper,
+                         EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper) {
+        this.fornecedorRepository = fornecedorRepository;
+        this.empresaRepository = empresaRepository;
+        this.fornecedorMapper = fornecedorMapper;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public void exportFornecedores(OutputStream out, ExportFormat format) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Fornecedor> fornecedores = fornecedorRepository.streamAll()) {
+                if (format == ExportFormat.CSV) {
+                    CsvWriter csv = csvWriter(out);
+                    csv.writeRow("id", "cpfCnpj", "nome", "email", "cep", "rg", "dataNascimento");
+                    for (Iterator<Fornecedor> it = fornecedores.iterator(); it.hasNext(); ) {
+                        Fornecedor f = it.next();
+                        csv.writeRow(f.getId(), f.getCpfCnpj(), f.getNome(), f.getEmail(), f.getCep(), f.getRg(), f.getDataNascimento());
+                        entityManager.detach(f);
+                    }
+                    csv.flush();
+                } else {
+                    try (SequenceWriter json = ndjsonWriter(out)) {
+                        for (Iterator<Fornecedor> it = fornecedores.iterator(); it.hasNext(); ) {
+                            Fornecedor f = it.next();
+                            json.write(fornecedorMapper.mapToFornecedorDto(f));
+                            entityManager.detach(f);
+                        }
+                        endNdjson(json, out);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public void exportEmpresas(OutputStream out, ExportFormat format) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<EmpresaResumo> empresas = empresaRepository.streamAllResumos()) {
+                if (format == ExportFormat.CSV) {
+                    CsvWriter csv = csvWriter(out);
+                    csv.writeRow("id", "cnpj", "nomeFantasia", "cep");
+                    for (Iterator<EmpresaResumo> it = empresas.iterator(); it.hasNext(); ) {
+                        EmpresaResumo e = it.next();
+                        csv.writeRow(e.id(), e.cnpj(), e.nomeFantasia(), e.cep());
+                    }
+                    csv.flush();
+                } else {
+                    try (SequenceWriter json = ndjsonWriter(out)) {
+                        for (Iterator<EmpresaResumo> it = empresas.iterator(); it.hasNext(); ) {
+                            json.write(it.next());
+                        }
+                        endNdjson(json, out);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // O SequenceWriter só separa os valores; o NDJSON termina cada linha com \n
+    private static void endNdjson(SequenceWriter json, OutputStream out) throws IOException {
+        json.flush();
+        out.write('\n');
+    }
+
+    private static CsvWriter csvWriter(OutputStream out) {
+        return new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024));
+    }
+
+    private SequenceWriter ndjsonWriter(OutputStream out) throws IOException {
+        return objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(out);
+    }
+}
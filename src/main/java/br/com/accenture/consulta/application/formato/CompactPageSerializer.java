@@ -0,0 +1,40 @@
+package br.com.accenture.consulta.application.formato;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+
+/**
+ * Page nos formatos binários: só o conteúdo e os quatro números da paginação, no mesmo
+ * formato do PagedModel do Spring Data ({"content": [...], "page": {...}}). Dispensa o
+ * pageable, o sort e os booleanos que o PageImpl repete em toda resposta.
+ */
+public class CompactPageSerializer extends StdSerializer<Page<?>> {
+
+    @SuppressWarnings("unchecked")
+    public CompactPageSerializer() {
+        super((Class<Page<?>>) (Class<?>) Page.class);
+    }
+
+    @Override
+    public void serialize(Page<?> page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName("content");
+        gen.writeStartArray(page, page.getNumberOfElements());
+        for (Object item : page.getContent()) {
+            provider.defaultSerializeValue(item, gen);
+        }
+        gen.writeEndArray();
+        gen.writeFieldName("page");
+        gen.writeStartObject();
+        gen.writeNumberField("size", page.getSize());
+        gen.writeNumberField("number", page.getNumber());
+        gen.writeNumberField("totalElements", page.getTotalElements());
+        gen.writeNumberField("totalPages", page.getTotalPages());
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.accenture.consulta.application.fornecedor;
+
+/**
+ * Validação dos dígitos verificadores de CPF (11 dígitos) e CNPJ (14 dígitos).
+ */
+public final class CpfCnpjValidator {
+
+    private static final int[] CNPJ_WEIGHTS = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    private CpfCnpjValidator() {
+    }
+
+    public static boolean isValid(String cpfCnpj) {
+        if (cpfCnpj == null) {
+            return false;
+        }
+        return switch (cpfCnpj.length()) {
+            case 11 -> isValidCpf(cpfCnpj);
+            case 14 -> isValidCnpj(cpfCnpj);
+            default -> false;
+        };
+    }
+
+    public static boolean isValidCpf(String cpf) {
+        if (!isDigits(cpf, 11) || isRepeated(cpf)) {
+            return false;
+        }
+        return cpfDigit(cpf, 9) == cpf.charAt(9) - '0' && cpfDigit(cpf, 10) == cpf.charAt(10) - '0';
+    }
+
+    public static boolean isValidCnpj(String cnpj) {
+        if (!isDigits(cnpj, 14) || isRepeated(cnpj)) {
+            return false;
+        }
+        return cnpjDigit(cnpj, 12) == cnpj.charAt(12) - '0' && cnpjDigit(cnpj, 13) == cnpj.charAt(13) - '0';
+    }
+
+    private static int cpfDigit(String cpf, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += (cpf.charAt(i) - '0') * (length + 1 - i);
+        }
+        int rest = (sum * 10) % 11;
+        return rest == 10 ? 0 : rest;
+    }
+
+    private static int cnpjDigit(String cnpj, int length) {
+        int sum = 0;
+        int offset = CNPJ_WEIGHTS.length - length;
+        for (int i = 0; i < length; i++) {
+            sum += (cnpj.charAt(i) - '0') * CNPJ_WEIGHTS[offset + i];
+        }
+        int rest = sum % 11;
+        return rest < 2 ? 0 : 11 - rest;
+    }
+
+    private static boolean isDigits(String value, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isRepeated(String value) {
+        for (int i = 1; i < value.length(); i++) {
+            if (value.charAt(i) != value.charAt(0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
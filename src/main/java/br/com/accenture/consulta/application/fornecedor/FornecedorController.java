@@ -1,20 +1,35 @@
 package br.com.accenture.consulta.application.fornecedor;
 
+import br.com.accenture.consulta.application.campos.Campos;
+import br.com.accenture.consulta.application.etag.EntityTags;
+import br.com.accenture.consulta.application.exportacao.ExportFormat;
+import br.com.accenture.consulta.application.exportacao.ExportService;
+import br.com.accenture.consulta.application.importacao.ImportFormat;
+import br.com.accenture.consulta.application.importacao.ImportReport;
+import br.com.accenture.consulta.application.paginacao.CursorSlice;
+import br.com.accenture.consulta.application.sugestao.Sugestao;
+import br.com.accenture.consulta.application.sugestao.SugestaoIndex;
+import br.com.accenture.consulta.domain.busca.NomeBusca;
 import br.com.accenture.consulta.domain.entities.Fornecedor;
-import br.com.accenture.consulta.domain.exception.DuplicatedTupleException;
 import br.com.accenture.consulta.domain.service.FornecedorService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/fornecedores")
@@ -24,24 +39,38 @@ public class FornecedorController {
 
     private final FornecedorService fornecedorService;
     private final FornecedorMapper fornecedorMapper;
+    private final ExportService exportService;
+    private final FornecedorValidationPipeline validationPipeline;
+    private final FornecedorImportService importService;
+    private final SugestaoIndex sugestaoIndex;
 
+    // fields=nome,email em qualquer leitura devolve só esses campos; sem ele, o DTO completo
     @GetMapping("/cpfCnpj/{cpfCnpj}")
-    public ResponseEntity<FornecedorDto> getByCpfCnpj(@PathVariable String cpfCnpj) {
-        Optional<Fornecedor> fornecedor = fornecedorService.getByCnpjOuCpf(cpfCnpj);
-        return fornecedor.map(f -> ResponseEntity.ok(fornecedorMapper.mapToFornecedorDto(f)))
+    public ResponseEntity<?> getByCpfCnpj(@PathVariable String cpfCnpj,
+                                          @RequestParam(required = false) String fields,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Campos campos = Campos.fornecedor(fields);
+        if (ifNoneMatch != null) {
+            Optional<String> etag = fornecedorService.getEtagByCnpjOuCpf(cpfCnpj);
+            if (etag.isPresent() && EntityTags.matchesIfNoneMatch(ifNoneMatch, etag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+            }
+        }
+        Optional<FornecedorDto> fornecedor = fornecedorService.getDtoByCnpjOuCpf(cpfCnpj);
+        return fornecedor.map(dto -> ResponseEntity.ok().eTag(EntityTags.fornecedor(dto)).body(corpo(dto, campos)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
 
     @GetMapping("/nome/{nome}")
-    public ResponseEntity<List<FornecedorDto>> getByNome(@PathVariable String nome) {
-        List<Fornecedor> fornecedores = fornecedorService.getByNome(nome);
+    public ResponseEntity<List<?>> getByNome(@PathVariable String nome,
+                                             @RequestParam(required = false) String fields) {
+        Campos campos = Campos.fornecedor(fields);
+        List<?> fornecedores = campos == null
+                ? fornecedorService.getDtosByNome(nome)
+                : fornecedorService.getByNome(nome, campos);
         if (!fornecedores.isEmpty()) {
-            return ResponseEntity.ok(
-                    fornecedores.stream()
-                            .map(fornecedorMapper::mapToFornecedorDto)
-                            .collect(Collectors.toList())
-            );
+            return ResponseEntity.ok(fornecedores);
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -50,16 +79,44 @@ public class FornecedorController {
 
 
     @GetMapping("/email/{email}")
-    public ResponseEntity<FornecedorDto> getByEmail(@PathVariable String email) {
-        Optional<Fornecedor> fornecedor = fornecedorService.getByEmail(email);
-        return fornecedor.map(f -> ResponseEntity.ok(fornecedorMapper.mapToFornecedorDto(f)))
+    public ResponseEntity<?> getByEmail(@PathVariable String email,
+                                        @RequestParam(required = false) String fields,
+                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Campos campos = Campos.fornecedor(fields);
+        if (ifNoneMatch != null) {
+            Optional<String> etag = fornecedorService.getEtagByEmail(email);
+            if (etag.isPresent() && EntityTags.matchesIfNoneMatch(ifNoneMatch, etag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+            }
+        }
+        Optional<FornecedorDto> fornecedor = fornecedorService.getDtoByEmail(email);
+        return fornecedor.map(dto -> ResponseEntity.ok().eTag(EntityTags.fornecedor(dto)).body(corpo(dto, campos)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFornecedores(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(out -> exportService.exportFornecedores(out, exportFormat));
+    }
+
     @GetMapping
-    public ResponseEntity<Page<FornecedorDto>> getAllFornecedores(@PageableDefault(size = 10, sort = {"nome"}) Pageable pageable) {
-        Page<FornecedorDto> fornecedores = fornecedorService.getAllFornecedores(pageable);
+    public ResponseEntity<Page<?>> getAllFornecedores(@PageableDefault(size = 10, sort = {"nome"}) Pageable pageable,
+                                                                  @RequestParam(required = false) String uf,
+                                                                  @RequestParam(required = false) String tipo,
+                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate nascimentoDe,
+                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate nascimentoAte,
+                                                                  @RequestParam(required = false) String cep,
+                                                                  @RequestParam(required = false) String nome,
+                                                                  @RequestParam(required = false) String fields) {
+        FornecedorFiltro filtro = FornecedorFiltro.of(uf, tipo, nascimentoDe, nascimentoAte, cep, nome);
+        Campos campos = Campos.fornecedor(fields);
+        Page<?> fornecedores = campos == null
+                ? fornecedorService.getAllFornecedores(filtro, pageable)
+                : fornecedorService.getAllFornecedores(filtro, pageable, campos);
         if (fornecedores.hasContent()) {
             return ResponseEntity.status(HttpStatus.OK).body(fornecedores);
         } else {
@@ -67,25 +124,67 @@ public class FornecedorController {
         }
     }
 
+    // Autocomplete servido do índice em memória, sem ida ao banco
+    @GetMapping("/sugestoes")
+    public ResponseEntity<List<Sugestao>> suggest(@RequestParam String q,
+                                                  @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(sugestaoIndex.suggestFornecedores(q, limit));
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity<Page<?>> searchByNome(@RequestParam String q,
+                                                @RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(defaultValue = "20") int size,
+                                                @RequestParam(required = false) String fields) {
+        Campos campos = Campos.fornecedor(fields);
+        return ResponseEntity.ok(campos == null
+                ? fornecedorService.searchByNome(q, NomeBusca.pagina(page, size))
+                : fornecedorService.searchByNome(q, NomeBusca.pagina(page, size), campos));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorSlice<?>> getFornecedoresByCursor(@RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "20") int size,
+                                                                  @RequestParam(required = false) String fields) {
+        Campos campos = Campos.fornecedor(fields);
+        return ResponseEntity.ok(campos == null
+                ? fornecedorService.getFornecedoresAfter(cursor, size)
+                : fornecedorService.getFornecedoresAfter(cursor, size, campos));
+    }
+
+    @GetMapping("/validacao/stats")
+    public ResponseEntity<Map<String, Map<String, Long>>> getValidationStats() {
+        return ResponseEntity.ok(validationPipeline.timings());
+    }
+
+    // Assíncrono: a thread do Tomcat é liberada enquanto o CEP é consultado; as falhas de validação
+    // (CPF/CNPJ duplicado, CEP inválido...) chegam ao GlobalExceptionHandler como no fluxo síncrono
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity createFornecedor(@RequestBody FornecedorDto fornecedorDto) {
-        try{
-            String cleanedCpfCnpj = fornecedorDto.getCpfCnpj().replaceAll("[^\\d]", "");
-            fornecedorDto.setCpfCnpj(cleanedCpfCnpj);
+    public CompletableFuture<ResponseEntity<Void>> createFornecedor(@RequestBody FornecedorDto fornecedorDto) {
+        String cleanedCpfCnpj = fornecedorDto.getCpfCnpj().replaceAll("[^\\d]", "");
+        fornecedorDto.setCpfCnpj(cleanedCpfCnpj);
 
-            Fornecedor fornecedor = fornecedorMapper.mapToFornecedor(fornecedorDto);
-            fornecedorService.save(fornecedor);
-            return ResponseEntity.status(HttpStatus.CREATED).build();
-        } catch (DuplicatedTupleException e){
-            Map<String, String> jsonResultado = Map.of("error", e.getMessage());
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(jsonResultado);
-        }
+        Fornecedor fornecedor = fornecedorMapper.mapToFornecedor(fornecedorDto);
+        return fornecedorService.saveAsync(fornecedor)
+                .thenApply(saved -> ResponseEntity.status(HttpStatus.CREATED).<Void>build());
+    }
+
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReport> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importFornecedores(body, ImportFormat.CSV));
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportReport> importNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importFornecedores(body, ImportFormat.NDJSON));
     }
 
 
     @PutMapping("/{id}")
-    public ResponseEntity updateFornecedor(@PathVariable String id, @RequestBody FornecedorDto fornecedorDto) {
+    public ResponseEntity updateFornecedor(@PathVariable String id, @RequestBody FornecedorDto fornecedorDto,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Optional<Fornecedor> existingFornecedor = fornecedorService.getById(id);
 
         if (existingFornecedor.isPresent()) {
@@ -94,15 +193,21 @@ public class FornecedorController {
 
                 Fornecedor fornecedorToUpdate = fornecedorMapper.mapToFornecedor(fornecedorDto);
             fornecedorToUpdate.setId(id);
-            fornecedorService.updateFornecedor(fornecedorToUpdate);
+            Optional<Fornecedor> updated = fornecedorService.updateFornecedor(fornecedorToUpdate, ifMatch);
 
-            return ResponseEntity.status(HttpStatus.OK).build();
+            return updated
+                    .map(f -> ResponseEntity.status(HttpStatus.OK).eTag(EntityTags.fornecedor(f.getId(), f.getVersion())).build())
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
 
+    private static Object corpo(FornecedorDto dto, Campos campos) {
+        return campos == null ? dto : campos.aplicar(dto);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteFornecedor(@PathVariable String id) {
         boolean deleted = fornecedorService.delete(id);
@@ -111,4 +216,10 @@ public class FornecedorController {
         }
         return ResponseEntity.notFound().build();
     }
+
+    // Exclusão em lote por ids; ids inexistentes são ignorados
+    @PostMapping("/excluir")
+    public ResponseEntity<Map<String, Integer>> deleteFornecedores(@RequestBody List<String> ids) {
+        return ResponseEntity.ok(Map.of("excluidos", fornecedorService.deleteAll(ids)));
+    }
 }
@@ -1,5 +1,6 @@
 package br.com.accenture.consulta.application.fornecedor;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,4 +18,10 @@ public class FornecedorDto {
     private String cep;
     private String rg;
     private LocalDate dataNascimento;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
+
+    public FornecedorDto(String id, String cpfCnpj, String nome, String email, String cep, String rg, LocalDate dataNascimento) {
+        this(id, cpfCnpj, nome, email, cep, rg, dataNascimento, null);
+    }
 }
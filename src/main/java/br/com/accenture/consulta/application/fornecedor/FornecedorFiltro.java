@@ -0,0 +1,28 @@
+package br.com.accenture.consulta.application.fornecedor;
+
+import br.com.accenture.consulta.application.cep.CepFiltros;
+import br.com.accenture.consulta.domain.exception.InvalidRequestParameterException;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionais da listagem de fornecedores; campos nulos não filtram.
+ */
+public record FornecedorFiltro(String uf, TipoPessoa tipo, LocalDate nascimentoDe, LocalDate nascimentoAte,
+                               String cepPrefixo, String nomePrefixo) {
+
+    public static final FornecedorFiltro VAZIO = new FornecedorFiltro(null, null, null, null, null, null);
+
+    public static FornecedorFiltro of(String uf, String tipo, LocalDate nascimentoDe, LocalDate nascimentoAte,
+                                      String cep, String nome) {
+        if (nascimentoDe != null && nascimentoAte != null && nascimentoDe.isAfter(nascimentoAte)) {
+            throw new InvalidRequestParameterException("nascimentoDe deve ser anterior ou igual a nascimentoAte.");
+        }
+        return new FornecedorFiltro(CepFiltros.uf(uf), TipoPessoa.from(tipo), nascimentoDe, nascimentoAte,
+                CepFiltros.prefixo(cep), nome == null || nome.isBlank() ? null : nome);
+    }
+
+    public boolean vazio() {
+        return equals(VAZIO);
+    }
+}
@@ -0,0 +1,278 @@
+package br.com.accenture.consulta.application.fornecedor;
+
+import br.com.accenture.consulta.application.cache.LookupCache;
+import br.com.accenture.consulta.application.cep.CepInfo;
+import br.com.accenture.consulta.application.cep.CepResolver;
+import br.com.accenture.consulta.application.estatistica.Estatisticas;
+import br.com.accenture.consulta.application.importacao.ChunkedImport;
+import br.com.accenture.consulta.application.importacao.CsvLineParser;
+import br.com.accenture.consulta.application.importacao.ImportFormat;
+import br.com.accenture.consulta.application.importacao.ImportReport;
+import br.com.accenture.consulta.application.importacao.ImportRow;
+import br.com.accenture.consulta.application.sugestao.SugestaoIndex;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import br.com.accenture.consulta.domain.exception.DuplicatedTupleTranslator;
+import br.com.accenture.consulta.repository.FornecedorKeys;
+import br.com.accenture.consulta.repository.FornecedorRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Importação em massa de fornecedores a partir de CSV ou NDJSON. O corpo é lido linha a linha
+ * e processado em blocos: regras locais, unicidade com uma consulta por bloco, CEPs distintos
+ * resolvidos em paralelo e inserção em lote numa transação por bloco.
+ */
+@Service
+public class FornecedorImportService {
+
+    private final FornecedorRepository fornecedorRepository;
+    private final FornecedorMapper fornecedorMapper;
+    private final FornecedorValidationPipeline validationPipeline;
+    private final CepResolver cepResolver;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final SugestaoIndex sugestaoIndex;
+    private final LookupCache lookupCache;
+    private final Estatisticas estatisticas;
+    private final int chunkSize;
+
+    public FornecedorImportService(FornecedorRepository fornecedorRepository,
+                                   FornecedorMapper fornecedorMapper,
+                                   FornecedorValidationPipeline validationPipeline,
+                                   CepResolver cepResolver,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper,
+                                   @Qualifier("validationExecutor") Executor executor,
+                                   SugestaoIndex sugestaoIndex,
+                                   LookupCache lookupCache,
+                                   Estatisticas estatisticas,
+                                   @Value("${consulta.import.chunk-size:1000}") int chunkSize) {
+        this.fornecedorRepository = fornecedorRepository;
+        this.fornecedorMapper = fornecedorMapper;
+        this.validationPipeline = validationPipeline;
+        this.cepResolver = cepResolver;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.sugestaoIndex = sugestaoIndex;
+        this.lookupCache = lookupCache;
+        this.estatisticas = estatisticas;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportReport importFornecedores(InputStream body, ImportFormat format) throws IOException {
+        return ChunkedImport.run(body, format, chunkSize, this::csvParser, this::parseJson, this::processChunk);
+    }
+
+    private void processChunk(List<ImportRow<FornecedorDto>> chunk, ImportReport report) {
+        List<Row> rows = new ArrayList<>(chunk.size());
+        for (ImportRow<FornecedorDto> row : chunk) {
+            FornecedorDto dto = row.value();
+            if (dto.getCpfCnpj() != null) {
+                dto.setCpfCnpj(dto.getCpfCnpj().replaceAll("[^\\d]", ""));
+            }
+            rows.add(new Row(row.line(), fornecedorMapper.mapToFornecedor(dto)));
+        }
+        rows = validateLocal(rows, report);
+        rows = rejectDuplicates(rows, report);
+        rows = validateCeps(rows, report);
+        persist(rows, report);
+    }
+
+    // Mesmas regras locais do cadastro unitário (formato do CEP, idade no Paraná, CPF/CNPJ)
+    private List<Row> validateLocal(List<Row> rows, ImportReport report) {
+        List<Row> valid = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            try {
+                validationPipeline.validateLocal(row.fornecedor());
+                valid.add(row);
+            } catch (RuntimeException e) {
+                report.addError(row.line(), row.key(), e.getMessage());
+            }
+        }
+        return valid;
+    }
+
+    // Duplicados dentro do próprio arquivo e já existentes no banco, com uma consulta por bloco
+    private List<Row> rejectDuplicates(List<Row> rows, ImportReport report) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Set<String> cpfCnpjs = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> rgs = new HashSet<>();
+        List<Row> unique = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            Fornecedor fornecedor = row.fornecedor();
+            String error = null;
+            if (fornecedor.getCpfCnpj() != null && !cpfCnpjs.add(fornecedor.getCpfCnpj())) {
+                error = "CNPJ/CPF existe.";
+            } else if (fornecedor.getRg() != null && !rgs.add(fornecedor.getRg())) {
+                error = "RG já existe.";
+            } else if (fornecedor.getEmail() != null && !emails.add(fornecedor.getEmail())) {
+                error = "Email already exists.";
+            }
+            if (error != null) {
+                report.addError(row.line(), row.key(), error);
+            } else {
+                unique.add(row);
+            }
+        }
+
+        Set<String> existingCpfCnpjs = new HashSet<>();
+        Set<String> existingEmails = new HashSet<>();
+        Set<String> existingRgs = new HashSet<>();
+        for (FornecedorKeys keys : fornecedorRepository.findExistingKeys(cpfCnpjs, emails, rgs)) {
+            addIfPresent(existingCpfCnpjs, keys.getCpfCnpj());
+            addIfPresent(existingEmails, keys.getEmail());
+            addIfPresent(existingRgs, keys.getRg());
+        }
+
+        List<Row> accepted = new ArrayList<>(unique.size());
+        for (Row row : unique) {
+            Fornecedor fornecedor = row.fornecedor();
+            if (existingCpfCnpjs.contains(fornecedor.getCpfCnpj())) {
+                report.addError(row.line(), row.key(), "CNPJ/CPF existe.");
+            } else if (existingRgs.contains(fornecedor.getRg())) {
+                report.addError(row.line(), row.key(), "RG já existe.");
+            } else if (existingEmails.contains(fornecedor.getEmail())) {
+                report.addError(row.line(), row.key(), "Email already exists.");
+            } else {
+                accepted.add(row);
+            }
+        }
+        return accepted;
+    }
+
+    private static void addIfPresent(Set<String> values, String value) {
+        if (value != null) {
+            values.add(value);
+        }
+    }
+
+    // Cada CEP distinto do bloco é resolvido uma única vez, em paralelo
+    private List<Row> validateCeps(List<Row> rows, ImportReport report) {
+        Map<String, CompletableFuture<CepInfo>> lookups = new HashMap<>();
+        for (Row row : rows) {
+            String key = CepResolver.normalize(row.fornecedor().getCep());
+            lookups.computeIfAbsent(key, cep -> CompletableFuture.supplyAsync(() -> cepResolver.resolve(cep), executor));
+        }
+
+        List<Row> valid = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            try {
+                if (lookups.get(CepResolver.normalize(row.fornecedor().getCep())).join().valid()) {
+                    valid.add(row);
+                } else {
+                    report.addError(row.line(), row.key(), "CEP inválido!");
+                }
+            } catch (CompletionException e) {
+                report.addError(row.line(), row.key(), e.getCause().getMessage());
+            }
+        }
+        return valid;
+    }
+
+    private void persist(List<Row> rows, ImportReport report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Row row : rows) {
+                    entityManager.persist(row.fornecedor());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            report.addImported(rows.size());
+            rows.forEach(row -> indexed(row.fornecedor()));
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            // Uma inserção concorrente venceu alguma chave: refaz o bloco linha a linha para apontar qual.
+            // O flush direto no EntityManager não passa pela tradução de exceções dos repositórios
+            for (Row row : rows) {
+                row.fornecedor().setId(null);
+                persistSingle(row, report);
+            }
+        }
+    }
+
+    private void persistSingle(Row row, ImportReport report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.persist(row.fornecedor());
+                entityManager.flush();
+                entityManager.clear();
+            });
+            report.addImported(1);
+            indexed(row.fornecedor());
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            report.addError(row.line(), row.key(), DuplicatedTupleTranslator.translate(e)
+                    .map(RuntimeException::getMessage)
+                    .orElse("Erro de integridade."));
+        }
+    }
+
+    // Novas chaves podem ter um "não encontrado" em cache
+    private void indexed(Fornecedor fornecedor) {
+        lookupCache.invalidate(LookupCache.fornecedorCpfCnpj(fornecedor.getCpfCnpj()), LookupCache.fornecedorEmail(fornecedor.getEmail()));
+        sugestaoIndex.fornecedorSaved(fornecedor);
+        estatisticas.fornecedorCriado(fornecedor);
+    }
+
+    private Function<String, FornecedorDto> csvParser(CsvLineParser csv) {
+        return line -> {
+            Map<String, String> values = csv.parse(line);
+            String dataNascimento = values.get("dataNascimento");
+            return new FornecedorDto(
+                    null,
+                    values.get("cpfCnpj"),
+                    values.get("nome"),
+                    values.get("email"),
+                    values.get("cep"),
+                    values.get("rg"),
+                    dataNascimento == null ? null : LocalDate.parse(dataNascimento)
+            );
+        };
+    }
+
+    private FornecedorDto parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, FornecedorDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getOriginalMessage());
+        }
+    }
+
+    private record Row(long line, Fornecedor fornecedor) {
+        String key() {
+            return fornecedor.getCpfCnpj();
+        }
+    }
+}
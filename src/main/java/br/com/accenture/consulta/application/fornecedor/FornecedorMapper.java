@@ -26,7 +26,8 @@ public class FornecedorMapper {
                 fornecedor.getEmail(),
                 fornecedor.getCep(),
                 fornecedor.getRg(),
-                fornecedor.getDataNascimento()
+                fornecedor.getDataNascimento(),
+                fornecedor.getVersion()
         );
     }
 
@@ -0,0 +1,74 @@
+package br.com.accenture.consulta.application.fornecedor;
+
+import br.com.accenture.consulta.domain.busca.NomeBusca;
+import br.com.accenture.consulta.domain.exception.InvalidRequestParameterException;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Ordenação aceita nas listagens por cursor: "campo" ou "campo,desc".
+ * O id entra sempre como desempate, o que torna a ordem total e permite continuar pelo cursor.
+ */
+public record FornecedorOrdenacao(Campo campo, boolean desc) {
+
+    public static final FornecedorOrdenacao PADRAO = new FornecedorOrdenacao(Campo.NOME, false);
+
+    public enum Campo {
+        // Nome ordena pela forma normalizada: sem diferença entre maiúsculas e acentos.
+        // O DTO não traz nome_busca; a mesma normalização aplicada ao nome reproduz o valor gravado
+        NOME("nome", "nomeBusca", dto -> NomeBusca.normalize(dto.getNome())),
+        CPF_CNPJ("cpfCnpj", "cpfCnpj", FornecedorDto::getCpfCnpj),
+        EMAIL("email", "email", FornecedorDto::getEmail);
+
+        private final String parametro;
+        private final String atributo;
+        private final Function<FornecedorDto, String> valor;
+
+        Campo(String parametro, String atributo, Function<FornecedorDto, String> valor) {
+            this.parametro = parametro;
+            this.atributo = atributo;
+            this.valor = valor;
+        }
+
+        public String atributo() {
+            return atributo;
+        }
+    }
+
+    public static FornecedorOrdenacao from(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return PADRAO;
+        }
+        String[] partes = sort.split(",");
+        boolean desc = false;
+        if (partes.length == 2 && (partes[1].trim().equalsIgnoreCase("desc") || partes[1].trim().equalsIgnoreCase("asc"))) {
+            desc = partes[1].trim().equalsIgnoreCase("desc");
+        } else if (partes.length != 1) {
+            throw invalida(sort);
+        }
+        for (Campo campo : Campo.values()) {
+            if (campo.parametro.equalsIgnoreCase(partes[0].trim())) {
+                return new FornecedorOrdenacao(campo, desc);
+            }
+        }
+        throw invalida(sort);
+    }
+
+    // Valor da chave de ordenação gravado no cursor; nulos ordenam como texto vazio
+    public String chave(FornecedorDto fornecedor) {
+        String valor = campo.valor.apply(fornecedor);
+        return valor == null ? "" : valor;
+    }
+
+    // Mesma chave, lida da coluna de ordenação selecionada junto com os campos pedidos
+    public String chave(Map<String, Object> linha) {
+        Object valor = linha.get(campo.atributo());
+        return valor == null ? "" : valor.toString();
+    }
+
+    private static InvalidRequestParameterException invalida(String sort) {
+        return new InvalidRequestParameterException("Valor inválido para sort: " + sort
+                + ". Use nome, cpfCnpj ou email, opcionalmente seguido de ,asc ou ,desc.");
+    }
+}
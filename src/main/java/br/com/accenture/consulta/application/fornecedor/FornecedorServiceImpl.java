@@ -1,44 +1,60 @@
 package br.com.accenture.consulta.application.fornecedor;
 
-import br.com.accenture.consulta.domain.entities.Empresa;
+import br.com.accenture.consulta.application.cache.LookupCache;
+import br.com.accenture.consulta.application.campos.Campos;
+import br.com.accenture.consulta.application.empresa.FetchPlan;
+import br.com.accenture.consulta.application.estatistica.Estatisticas;
+import br.com.accenture.consulta.application.etag.EntityTags;
+import br.com.accenture.consulta.application.paginacao.CursorSlice;
+import br.com.accenture.consulta.application.paginacao.CursorToken;
+import br.com.accenture.consulta.application.sugestao.SugestaoIndex;
+import br.com.accenture.consulta.domain.busca.NomeBusca;
+import br.com.accenture.consulta.domain.cep.CepUfTable;
 import br.com.accenture.consulta.domain.entities.Fornecedor;
-import br.com.accenture.consulta.domain.exception.DuplicatedTupleException;
-import br.com.accenture.consulta.domain.exception.InvalidBirthdayException;
-import br.com.accenture.consulta.domain.exception.InvalidCepException;
+import br.com.accenture.consulta.domain.exception.DuplicatedTupleTranslator;
+import br.com.accenture.consulta.domain.exception.PreconditionFailedException;
 import br.com.accenture.consulta.domain.service.FornecedorService;
 import br.com.accenture.consulta.repository.EmpresaRepository;
+import br.com.accenture.consulta.repository.FornecedorLookupKeys;
 import br.com.accenture.consulta.repository.FornecedorRepository;
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.stream.JsonReader;
+import br.com.accenture.consulta.repository.FornecedorSpecifications;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.apache.http.HttpEntity;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.util.EntityUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
-import java.io.StringReader;
 import java.time.LocalDate;
-import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class FornecedorServiceImpl implements FornecedorService {
 
     private final FornecedorRepository fornecedorRepository;
-    private final FornecedorMapper fornecedorMapper;
     private final EmpresaRepository empresaRepository;
+    private final FornecedorValidationPipeline validationPipeline;
+    private final SugestaoIndex sugestaoIndex;
+    private final LookupCache lookupCache;
+    private final Estatisticas estatisticas;
+    @Qualifier("ioExecutor")
+    private final Executor ioExecutor;
+
+    // Mantém cada IN bem abaixo do limite de parâmetros do Postgres
+    private static final int DELETE_BATCH_SIZE = 1000;
 
 
     @Override
@@ -47,9 +63,77 @@ public class FornecedorServiceImpl implements FornecedorService {
     }
 
 
+    // Leituras da API: DTO projetado direto do SELECT, em transação somente-leitura
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<FornecedorDto> getDtoByCnpjOuCpf(String cpfCnpj) {
+        return lookupCache.get(LookupCache.fornecedorCpfCnpj(cpfCnpj),
+                () -> fornecedorRepository.findDtoByCpfCnpj(cpfCnpj));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<FornecedorDto> getDtoByEmail(String email) {
+        return lookupCache.get(LookupCache.fornecedorEmail(email),
+                () -> fornecedorRepository.findDtoByEmail(email));
+    }
+
+    // Com o DTO em cache nem o banco é consultado; sem ele, só a versão é lida
+    @Override
+    public Optional<String> getEtagByCnpjOuCpf(String cpfCnpj) {
+        Optional<FornecedorDto> cached = lookupCache.peek(LookupCache.fornecedorCpfCnpj(cpfCnpj));
+        if (cached.isPresent()) {
+            return cached.map(EntityTags::fornecedor);
+        }
+        return fornecedorRepository.findVersionByCpfCnpj(cpfCnpj)
+                .map(v -> EntityTags.fornecedor(v.id(), v.version()));
+    }
+
+    @Override
+    public Optional<String> getEtagByEmail(String email) {
+        Optional<FornecedorDto> cached = lookupCache.peek(LookupCache.fornecedorEmail(email));
+        if (cached.isPresent()) {
+            return cached.map(EntityTags::fornecedor);
+        }
+        return fornecedorRepository.findVersionByEmail(email)
+                .map(v -> EntityTags.fornecedor(v.id(), v.version()));
+    }
+
     @Override
     public List<Fornecedor> getByNome(String nome) {
-        return fornecedorRepository.findByNome(nome);
+        String termo = NomeBusca.requireTermo(nome);
+        return fornecedorRepository.findByNome(termo, NomeBusca.likePattern(termo), PageRequest.of(0, NomeBusca.MAX_RESULTADOS));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FornecedorDto> getDtosByNome(String nome) {
+        String termo = NomeBusca.requireTermo(nome);
+        return fornecedorRepository.findDtosByNome(termo, NomeBusca.likePattern(termo), PageRequest.of(0, NomeBusca.MAX_RESULTADOS));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<FornecedorDto> searchByNome(String nome, Pageable pageable) {
+        String termo = NomeBusca.requireTermo(nome);
+        return fornecedorRepository.searchByNome(termo, NomeBusca.likePattern(termo), pageable);
+    }
+
+    // fields=: só as colunas pedidas entram no SELECT
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getByNome(String nome, Campos campos) {
+        String termo = NomeBusca.requireTermo(nome);
+        return recortar(fornecedorRepository.findMaps(FornecedorSpecifications.buscaPorNome(termo),
+                campos.colunas(List.of()), NomeBusca.MAX_RESULTADOS), campos);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> searchByNome(String nome, Pageable pageable, Campos campos) {
+        String termo = NomeBusca.requireTermo(nome);
+        return fornecedorRepository.findMaps(FornecedorSpecifications.buscaPorNome(termo), campos.colunas(List.of()), pageable)
+                .map(campos::recortar);
     }
 
     public List<Fornecedor> getByIds(List<String> ids) {
@@ -68,141 +152,186 @@ public class FornecedorServiceImpl implements FornecedorService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<FornecedorDto> getAllFornecedores(Pageable fornecedorPageable) {
-        Page<Fornecedor> fornecedor = fornecedorRepository.findAll(fornecedorPageable);
-        return (Page<FornecedorDto>) fornecedor.map(fornecedorMapper::mapToFornecedorDto);
+        return fornecedorRepository.findAllDtos(fornecedorPageable);
     }
 
     @Override
-    public Fornecedor save(Fornecedor fornecedor) {
-        String cep = fornecedor.getCep();
-        Optional<Fornecedor> possibleCnpj = fornecedorRepository.findByCpfCnpj(fornecedor.getCpfCnpj());
-        Optional<Fornecedor> possibleEmail = fornecedorRepository.findByEmail(fornecedor.getEmail());
-        Optional<Fornecedor> possibleRg = fornecedorRepository.findByRg(fornecedor.getRg());
-
-        String uf = getUfFromCep(cep);
-
-        if (!isValidCep(cep)) {
-            throw new InvalidCepException("CEP inválido!");
+    @Transactional(readOnly = true)
+    public Page<FornecedorDto> getAllFornecedores(FornecedorFiltro filtro, Pageable pageable) {
+        if (filtro.vazio()) {
+            return getAllFornecedores(pageable);
         }
+        return fornecedorRepository.findDtos(FornecedorSpecifications.filtradoPor(filtro), pageable);
+    }
 
-        if (uf.equals("PR") && fornecedor.getCpfCnpj().length() == 11) {
-            if (!isOlderThan18Years(fornecedor.getDataNascimento())) {
-                throw new InvalidBirthdayException("Pessoa com CPF no PARANÁ deve ser maior de 18 anos.");
-            }
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllFornecedores(FornecedorFiltro filtro, Pageable pageable, Campos campos) {
+        Specification<Fornecedor> spec = filtro.vazio() ? null : FornecedorSpecifications.filtradoPor(filtro);
+        return fornecedorRepository.findMaps(spec, campos.colunas(List.of()), pageable).map(campos::recortar);
+    }
 
-        if (possibleCnpj.isPresent()) {
-            throw new DuplicatedTupleException("CNPJ/CPF existe.");
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<FornecedorDto> getFornecedoresAfter(String cursor, int size) {
+        int limit = CursorToken.clampSize(size);
+        // Busca um a mais para saber se existe próxima fatia sem precisar de count(*)
+        Pageable fetch = PageRequest.of(0, limit + 1);
+        List<FornecedorDto> fornecedores;
+        if (cursor == null || cursor.isBlank()) {
+            fornecedores = fornecedorRepository.findFirstByNome(fetch);
+        } else {
+            CursorToken after = CursorToken.decode(cursor);
+            if (after.sortKey() == null) {
+                fornecedores = fornecedorRepository.findAfterNullNome(after.id(), fetch);
+            } else {
+                fornecedores = fornecedorRepository.findAfterNome(after.sortKey(), after.id(), fetch);
+                // Acabaram os nomes não nulos: a fatia continua pelos nulos, em ordem de id
+                if (fornecedores.size() <= limit) {
+                    fornecedores = new ArrayList<>(fornecedores);
+                    fornecedores.addAll(fornecedorRepository.findFirstNullNome(PageRequest.of(0, limit + 1 - fornecedores.size())));
+                }
+            }
         }
 
-        if (possibleRg.isPresent()) {
-            throw new DuplicatedTupleException("RG já existe.");
-        }
+        return slice(fornecedores, limit, FornecedorDto::getNome);
+    }
 
-        if (possibleEmail.isPresent()) {
-            throw new DuplicatedTupleException("Email already exists.");
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<Map<String, Object>> getFornecedoresAfter(String cursor, int size, Campos campos) {
+        int limit = CursorToken.clampSize(size);
+        CursorToken after = cursor == null || cursor.isBlank() ? null : CursorToken.decode(cursor);
+        List<String> colunas = campos.colunas(List.of("id", "nome"));
+        List<Map<String, Object>> fornecedores = fornecedorRepository.findMaps(FornecedorSpecifications.porNomeApos(after),
+                colunas, limit + 1);
+        // Acabaram os nomes não nulos: a fatia continua pelos nulos, em ordem de id
+        if (after != null && after.sortKey() != null && fornecedores.size() <= limit) {
+            fornecedores = new ArrayList<>(fornecedores);
+            fornecedores.addAll(fornecedorRepository.findMaps(FornecedorSpecifications.semNome(), colunas,
+                    limit + 1 - fornecedores.size()));
         }
+        return sliceMaps(fornecedores, limit, linha -> (String) linha.get("nome"), campos);
+    }
 
+    /**
+     * Fornecedores vinculados à empresa, filtrados e ordenados no banco pela tabela de junção,
+     * uma fatia por vez. A coleção da empresa nunca é carregada.
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<FornecedorDto> getFornecedoresDaEmpresa(String empresaId, String nomePrefixo, TipoPessoa tipo,
+                                                              FornecedorOrdenacao ordenacao, String cursor, int size) {
+        int limit = CursorToken.clampSize(size);
+        CursorToken after = cursor == null || cursor.isBlank() ? null : CursorToken.decode(cursor);
+        Specification<Fornecedor> spec = Specification.where(FornecedorSpecifications.vinculadoA(empresaId))
+                .and(FornecedorSpecifications.nomeComecaCom(nomePrefixo))
+                .and(FornecedorSpecifications.doTipo(tipo))
+                .and(FornecedorSpecifications.ordenadoApos(ordenacao, after));
+        List<FornecedorDto> fornecedores = fornecedorRepository.findDtos(spec, limit + 1);
+        return slice(fornecedores, limit, ordenacao::chave);
+    }
 
-        return fornecedorRepository.save(fornecedor);
+    // A chave do cursor é lida da coluna de ordenação (nome_busca no caso do nome), selecionada à parte
+    @Transactional(readOnly = true)
+    public CursorSlice<Map<String, Object>> getFornecedoresDaEmpresa(String empresaId, String nomePrefixo, TipoPessoa tipo,
+                                                                    FornecedorOrdenacao ordenacao, String cursor, int size,
+                                                                    Campos campos) {
+        int limit = CursorToken.clampSize(size);
+        CursorToken after = cursor == null || cursor.isBlank() ? null : CursorToken.decode(cursor);
+        Specification<Fornecedor> spec = Specification.where(FornecedorSpecifications.vinculadoA(empresaId))
+                .and(FornecedorSpecifications.nomeComecaCom(nomePrefixo))
+                .and(FornecedorSpecifications.doTipo(tipo))
+                .and(FornecedorSpecifications.ordenadoApos(ordenacao, after));
+        List<Map<String, Object>> fornecedores = fornecedorRepository.findMaps(spec,
+                campos.colunas(List.of("id", ordenacao.campo().atributo())), limit + 1);
+        return sliceMaps(fornecedores, limit, ordenacao::chave, campos);
     }
 
-    public boolean isOlderThan18Years(LocalDate birthDate) {
-        if (birthDate == null) {
-            return false;
+    // Recebe até limit + 1 linhas: a sobra só indica que existe próxima fatia
+    private static CursorSlice<FornecedorDto> slice(List<FornecedorDto> fornecedores, int limit, Function<FornecedorDto, String> chave) {
+        boolean hasNext = fornecedores.size() > limit;
+        List<FornecedorDto> content = hasNext ? fornecedores.subList(0, limit) : fornecedores;
+        String nextCursor = null;
+        if (hasNext) {
+            FornecedorDto last = content.get(content.size() - 1);
+            nextCursor = new CursorToken(chave.apply(last), last.getId()).encode();
         }
-        LocalDate today = LocalDate.now();
-        return Period.between(birthDate, today).getYears() >= 18;
+        return new CursorSlice<>(new ArrayList<>(content), content.size(), hasNext, nextCursor);
     }
 
-    public String getUfFromCep(String cep) {
-        String viaCepUrl = "http://viacep.com.br/ws/" + cep + "/json";
-
-        try (CloseableHttpClient httpClient = HttpClientBuilder.create().build()) {
-            HttpGet request = new HttpGet(viaCepUrl);
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
-                HttpEntity entity = response.getEntity();
-
-                if (entity != null) {
-                    String result = EntityUtils.toString(entity);
-                    if (result != null && result.trim().startsWith("{")) {
-                        Gson gson = new Gson();
-                        JsonReader reader = new JsonReader(new StringReader(result));
-                        reader.setLenient(true);
-
-                        JsonElement jsonElement = gson.fromJson(reader, JsonElement.class);
-                        if (jsonElement.isJsonObject()) {
-                            JsonObject json = jsonElement.getAsJsonObject();
-                            if (json.has("erro") && json.get("erro").getAsBoolean()) {
-                                return null;  // Invalid CEP
-                            }
-                            // Extract the UF (state) from the response
-                            return json.get("uf").getAsString();
-                        }
-                    }
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace(); // Log the exception
+    private static CursorSlice<Map<String, Object>> sliceMaps(List<Map<String, Object>> fornecedores, int limit,
+                                                              Function<Map<String, Object>, String> chave, Campos campos) {
+        boolean hasNext = fornecedores.size() > limit;
+        List<Map<String, Object>> content = hasNext ? fornecedores.subList(0, limit) : fornecedores;
+        String nextCursor = null;
+        if (hasNext) {
+            Map<String, Object> last = content.get(content.size() - 1);
+            nextCursor = new CursorToken(chave.apply(last), (String) last.get("id")).encode();
         }
-        return null;
+        return new CursorSlice<>(recortar(new ArrayList<>(content), campos), content.size(), hasNext, nextCursor);
     }
 
+    private static List<Map<String, Object>> recortar(List<Map<String, Object>> linhas, Campos campos) {
+        linhas.forEach(campos::recortar);
+        return linhas;
+    }
 
-    public boolean isValidCep(String cep) {
-        if (cep == null || !cep.matches("\\d{5}-?\\d{3}")) {
-            System.out.println("Formato de CEP inválido: " + cep);
-            return false;
-        }
-        String viaCepUrl = "http://viacep.com.br/ws/" + cep + "/json";
-
-        try (CloseableHttpClient httpClient = HttpClientBuilder.create().build()) {
-            HttpGet request = new HttpGet(viaCepUrl);
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
-                HttpEntity entity = response.getEntity();
-
-                if (entity != null) {
-                    String result = EntityUtils.toString(entity);
-                    if (result != null && result.trim().startsWith("{")) {
-                        Gson gson = new Gson();
-                        JsonReader reader = new JsonReader(new StringReader(result));
-                        reader.setLenient(true);
-                        JsonElement jsonElement = gson.fromJson(reader, JsonElement.class);
-                        if (jsonElement.isJsonObject()) {
-                            JsonObject json = jsonElement.getAsJsonObject();
-
-                            if (json.has("erro") && json.get("erro").getAsBoolean()) {
-                                return false;
-                            }
-
-                            return true;
-                        } else if (jsonElement.isJsonPrimitive()) {
-                            System.out.println("Received unexpected primitive response: " + jsonElement.getAsString());
-                            return false;
-                        }
-                    } else {
-                        System.out.println("Received a non-JSON response: " + result);
-                        return false;
-                    }
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace(); // Log the exception
-        }
+    @Override
+    public Fornecedor save(Fornecedor fornecedor) {
+        validationPipeline.validate(fornecedor);
+        return persist(fornecedor);
+    }
 
-        return false; // Return false if something went wrong
+    // Nenhuma thread fica presa durante a consulta ao ViaCEP; só a gravação ocupa o executor de I/O
+    @Override
+    public CompletableFuture<Fornecedor> saveAsync(Fornecedor fornecedor) {
+        return validationPipeline.validateAsync(fornecedor)
+                .thenApplyAsync(ignored -> persist(fornecedor), ioExecutor);
     }
 
+    private Fornecedor persist(Fornecedor fornecedor) {
+        try {
+            // As constraints únicas são a palavra final quando duas inserções concorrentes passam pela validação
+            Fornecedor saved = fornecedorRepository.saveAndFlush(fornecedor);
+            // Derruba um "não encontrado" cacheado para as novas chaves
+            lookupCache.invalidate(LookupCache.fornecedorCpfCnpj(saved.getCpfCnpj()), LookupCache.fornecedorEmail(saved.getEmail()));
+            sugestaoIndex.fornecedorSaved(saved);
+            estatisticas.fornecedorCriado(saved);
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw DuplicatedTupleTranslator.translate(e).orElseThrow(() -> e);
+        }
+    }
 
+    public boolean isOlderThan18Years(LocalDate birthDate) {
+        return FornecedorValidationPipeline.isOlderThan18Years(birthDate);
+    }
 
+    public String getUfFromCep(String cep) {
+        return CepUfTable.ufOf(cep);
+    }
 
     @Override
     public Optional<Fornecedor> updateFornecedor(Fornecedor fornecedor) {
+        return updateFornecedor(fornecedor, null);
+    }
+
+    @Override
+    public Optional<Fornecedor> updateFornecedor(Fornecedor fornecedor, String ifMatch) {
         var existingFornecedor = fornecedorRepository.findById(fornecedor.getId());
 
         if (existingFornecedor.isPresent()) {
             Fornecedor fornecedorToUpdate = existingFornecedor.get();
+            if (!EntityTags.matchesIfMatch(ifMatch, EntityTags.fornecedor(fornecedorToUpdate.getId(), fornecedorToUpdate.getVersion()))) {
+                throw new PreconditionFailedException("Fornecedor foi alterado desde a última leitura.");
+            }
+            List<String> staleKeys = new ArrayList<>();
+            staleKeys.add(LookupCache.fornecedorCpfCnpj(fornecedorToUpdate.getCpfCnpj()));
+            staleKeys.add(LookupCache.fornecedorEmail(fornecedorToUpdate.getEmail()));
+            String cpfCnpjAntes = fornecedorToUpdate.getCpfCnpj();
+            String cepAntes = fornecedorToUpdate.getCep();
 
             if (fornecedor.getNome() != null) {
                 fornecedorToUpdate.setNome(fornecedor.getNome());
@@ -217,7 +346,17 @@ public class FornecedorServiceImpl implements FornecedorService {
                 fornecedorToUpdate.setCpfCnpj(fornecedor.getCpfCnpj());
             }
 
-            return Optional.of(fornecedorRepository.save(fornecedorToUpdate));
+            Fornecedor saved = fornecedorRepository.save(fornecedorToUpdate);
+            staleKeys.add(LookupCache.fornecedorCpfCnpj(saved.getCpfCnpj()));
+            staleKeys.add(LookupCache.fornecedorEmail(saved.getEmail()));
+            // As empresas vinculadas embutem o fornecedor no DTO cacheado
+            for (String cnpj : empresaRepository.findCnpjsByFornecedorId(saved.getId())) {
+                staleKeys.addAll(LookupCache.empresaCnpj(cnpj, List.of(FetchPlan.values())));
+            }
+            lookupCache.invalidate(staleKeys);
+            sugestaoIndex.fornecedorSaved(saved);
+            estatisticas.fornecedorAlterado(cpfCnpjAntes, cepAntes, saved);
+            return Optional.of(saved);
         }
 
         return Optional.empty();    }
@@ -226,16 +365,43 @@ public class FornecedorServiceImpl implements FornecedorService {
     @Transactional
     @Override
     public boolean delete(String fornecedorId) {
-        Fornecedor fornecedor = fornecedorRepository.findById(fornecedorId)
-                .orElseThrow(() -> new EntityNotFoundException("Fornecedor não encontrado"));
-
-        for (Empresa empresa : fornecedor.getEmpresas()) {
-            empresa.getFornecedores().remove(fornecedor);
-            empresaRepository.save(empresa);
+        if (!fornecedorRepository.existsById(fornecedorId)) {
+            throw new EntityNotFoundException("Fornecedor não encontrado");
         }
+        return deleteAll(List.of(fornecedorId)) > 0;
+    }
 
-        fornecedorRepository.delete(fornecedor);
-        return true;
+    /**
+     * Exclui em lotes numa única transação. Por lote: as empresas vinculadas têm a versão incrementada,
+     * os vínculos saem num só DELETE e os fornecedores noutro, sem carregar nenhum grafo.
+     * Ids inexistentes são ignorados; devolve quantos fornecedores foram excluídos.
+     */
+    @Transactional
+    @Override
+    public int deleteAll(Collection<String> fornecedorIds) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(fornecedorIds));
+        List<String> staleKeys = new ArrayList<>();
+        List<String> excluidos = new ArrayList<>();
+        int total = 0;
+        for (int i = 0; i < ids.size(); i += DELETE_BATCH_SIZE) {
+            List<String> lote = ids.subList(i, Math.min(ids.size(), i + DELETE_BATCH_SIZE));
+            List<FornecedorLookupKeys> encontrados = fornecedorRepository.findLookupKeysByIdIn(lote);
+            for (FornecedorLookupKeys keys : encontrados) {
+                staleKeys.add(LookupCache.fornecedorCpfCnpj(keys.getCpfCnpj()));
+                staleKeys.add(LookupCache.fornecedorEmail(keys.getEmail()));
+                excluidos.add(keys.getId());
+            }
+            for (String cnpj : empresaRepository.findCnpjsByFornecedorIds(lote)) {
+                staleKeys.addAll(LookupCache.empresaCnpj(cnpj, List.of(FetchPlan.values())));
+            }
+            estatisticas.fornecedoresExcluidos(encontrados, empresaRepository.countVinculosPorEmpresa(lote));
+            empresaRepository.incrementVersionByFornecedorIds(lote);
+            fornecedorRepository.deleteEmpresaLinks(lote);
+            total += fornecedorRepository.deleteByIdIn(lote);
+        }
+        lookupCache.invalidate(staleKeys);
+        excluidos.forEach(sugestaoIndex::fornecedorDeleted);
+        return total;
     }
 
 }
@@ -0,0 +1,157 @@
+package br.com.accenture.consulta.application.fornecedor;
+
+import br.com.accenture.consulta.application.cep.CepResolver;
+import br.com.accenture.consulta.domain.cep.CepUfTable;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import br.com.accenture.consulta.domain.exception.DuplicatedTupleException;
+import br.com.accenture.consulta.domain.exception.InvalidBirthdayException;
+import br.com.accenture.consulta.domain.exception.InvalidCepException;
+import br.com.accenture.consulta.domain.exception.InvalidDocumentException;
+import br.com.accenture.consulta.repository.FornecedorRepository;
+import br.com.accenture.consulta.repository.UniqueKeyConflicts;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Validação do cadastro de fornecedor: primeiro as regras locais (formato do CEP, idade no
+ * Paraná, dígitos do CPF/CNPJ), depois a consulta de unicidade e o CEP em paralelo,
+ * encerrando na primeira falha.
+ */
+@Component
+public class FornecedorValidationPipeline {
+
+    private final FornecedorRepository fornecedorRepository;
+    private final CepResolver cepResolver;
+    private final Executor executor;
+    private final StageTimings timings = new StageTimings();
+
+    public FornecedorValidationPipeline(FornecedorRepository fornecedorRepository,
+                                        CepResolver cepResolver,
+                                        @Qualifier("validationExecutor") Executor executor) {
+        this.fornecedorRepository = fornecedorRepository;
+        this.cepResolver = cepResolver;
+        this.executor = executor;
+    }
+
+    public static boolean isOlderThan18Years(LocalDate birthDate) {
+        if (birthDate == null) {
+            return false;
+        }
+        LocalDate today = LocalDate.now();
+        return Period.between(birthDate, today).getYears() >= 18;
+    }
+
+    public void validate(Fornecedor fornecedor) {
+        try {
+            validateAsync(fornecedor).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * As regras locais rodam na thread de quem chama; a consulta do CEP não ocupa thread nenhuma
+     * enquanto o ViaCEP responde e só a de unicidade (JDBC) vai para o executor.
+     * O futuro falha com a primeira exceção de validação.
+     */
+    public CompletableFuture<Void> validateAsync(Fornecedor fornecedor) {
+        long start = System.nanoTime();
+        CompletableFuture<Void> result;
+        try {
+            validateLocal(fornecedor);
+            timings.record("local", System.nanoTime() - start);
+            result = validateRemote(fornecedor);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((ignored, error) -> timings.record("total", System.nanoTime() - start));
+    }
+
+    public Map<String, Map<String, Long>> timings() {
+        return timings.snapshot();
+    }
+
+    public void validateLocal(Fornecedor fornecedor) {
+        String cep = fornecedor.getCep();
+        if (!CepResolver.hasValidFormat(cep)) {
+            throw new InvalidCepException("CEP inválido!");
+        }
+
+        // A regra do Paraná usa a tabela local de faixas, sem depender do ViaCEP
+        if ("PR".equals(CepUfTable.ufOf(cep)) && fornecedor.isPessoaFisica()) {
+            if (!isOlderThan18Years(fornecedor.getDataNascimento())) {
+                throw new InvalidBirthdayException("Pessoa com CPF no PARANÁ deve ser maior de 18 anos.");
+            }
+        }
+
+        if (fornecedor.getCpfCnpj() != null && !CpfCnpjValidator.isValid(fornecedor.getCpfCnpj())) {
+            throw new InvalidDocumentException("CPF/CNPJ inválido.");
+        }
+    }
+
+    private CompletableFuture<Void> validateRemote(Fornecedor fornecedor) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        List<CompletableFuture<Void>> checks = List.of(
+                timed("cep", System.nanoTime(), cepResolver.resolveAsync(fornecedor.getCep()).thenAccept(info -> {
+                    if (!info.valid()) {
+                        throw new InvalidCepException("CEP inválido!");
+                    }
+                })),
+                stage("unicidade", () -> {
+                    UniqueKeyConflicts conflicts = fornecedorRepository.findUniqueKeyConflicts(
+                            fornecedor.getCpfCnpj(), fornecedor.getEmail(), fornecedor.getRg());
+                    if (conflicts == null) {
+                        return;
+                    }
+                    if (conflicts.cpfCnpjTaken()) {
+                        throw new DuplicatedTupleException("CNPJ/CPF existe.");
+                    }
+                    if (conflicts.rgTaken()) {
+                        throw new DuplicatedTupleException("RG já existe.");
+                    }
+                    if (conflicts.emailTaken()) {
+                        throw new DuplicatedTupleException("Email already exists.");
+                    }
+                })
+        );
+
+        // Encerra na primeira falha, sem esperar as demais verificações
+        for (CompletableFuture<Void> check : checks) {
+            check.whenComplete((ignored, error) -> {
+                if (error != null && result.completeExceptionally(
+                        error instanceof CompletionException && error.getCause() != null ? error.getCause() : error)) {
+                    checks.forEach(other -> other.cancel(false));
+                }
+            });
+        }
+        CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new))
+                .thenRun(() -> result.complete(null));
+        return result;
+    }
+
+    private CompletableFuture<Void> stage(String name, Runnable check) {
+        return CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                check.run();
+            } finally {
+                timings.record(name, System.nanoTime() - start);
+            }
+        }, executor);
+    }
+
+    private CompletableFuture<Void> timed(String name, long start, CompletableFuture<Void> check) {
+        return check.whenComplete((ignored, error) -> timings.record(name, System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.accenture.consulta.application.fornecedor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumula contagem, tempo total e tempo máximo por etapa, em microssegundos.
+ */
+public class StageTimings {
+
+    private final Map<String, Stage> stages = new ConcurrentHashMap<>();
+
+    public void record(String stage, long nanos) {
+        stages.computeIfAbsent(stage, key -> new Stage()).record(nanos);
+    }
+
+    public Map<String, Map<String, Long>> snapshot() {
+        Map<String, Map<String, Long>> snapshot = new LinkedHashMap<>();
+        stages.forEach((name, stage) -> snapshot.put(name, stage.snapshot()));
+        return snapshot;
+    }
+
+    private static class Stage {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        Map<String, Long> snapshot() {
+            long calls = count.sum();
+            long total = totalNanos.sum();
+            return Map.of(
+                    "count", calls,
+                    "totalMicros", total / 1_000,
+                    "avgMicros", calls == 0 ? 0 : total / calls / 1_000,
+                    "maxMicros", maxNanos.get() / 1_000
+            );
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.accenture.consulta.application.fornecedor;
+
+import br.com.accenture.consulta.domain.exception.InvalidRequestParameterException;
+
+/**
+ * Filtro por tipo de pessoa, pelo tamanho do documento (mesma regra de Fornecedor.isPessoaFisica).
+ */
+public enum TipoPessoa {
+    PF(11),
+    PJ(14);
+
+    private final int tamanhoDocumento;
+
+    TipoPessoa(int tamanhoDocumento) {
+        this.tamanhoDocumento = tamanhoDocumento;
+    }
+
+    public int tamanhoDocumento() {
+        return tamanhoDocumento;
+    }
+
+    // Nulo quando o filtro não foi informado
+    public static TipoPessoa from(String tipo) {
+        if (tipo == null || tipo.isBlank()) {
+            return null;
+        }
+        for (TipoPessoa value : values()) {
+            if (value.name().equalsIgnoreCase(tipo.trim())) {
+                return value;
+            }
+        }
+        throw new InvalidRequestParameterException("Valor inválido para tipo: " + tipo + ". Use PF ou PJ.");
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.accenture.consulta.application.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Lê o corpo da importação linha a linha, sem bufferizar o arquivo, e entrega as linhas
+ * convertidas em blocos de tamanho fixo. Linhas que não podem ser convertidas entram no
+ * relatório como erro e não chegam ao processador.
+ */
+public final class ChunkedImport {
+
+    private ChunkedImport() {
+    }
+
+    public static <T> ImportReport run(InputStream body,
+                                       ImportFormat format,
+                                       int chunkSize,
+                                       Function<CsvLineParser, Function<String, T>> csvParser,
+                                       Function<String, T> jsonParser,
+                                       BiConsumer<List<ImportRow<T>>, ImportReport> processor) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportReport report = new ImportReport();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        long lineNumber = 0;
+        Function<String, T> parser;
+        if (format == ImportFormat.CSV) {
+            String header = reader.readLine();
+            lineNumber++;
+            if (header == null) {
+                return report;
+            }
+            parser = csvParser.apply(new CsvLineParser(header));
+        } else {
+            parser = jsonParser;
+        }
+
+        List<ImportRow<T>> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.addRows(1);
+            try {
+                chunk.add(new ImportRow<>(lineNumber, parser.apply(line)));
+            } catch (RuntimeException e) {
+                report.addError(lineNumber, null, "Linha inválida: " + e.getMessage());
+            }
+            if (chunk.size() == chunkSize) {
+                processor.accept(chunk, report);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processor.accept(chunk, report);
+        }
+
+        report.getErrors().sort(Comparator.comparingLong(ImportReport.ImportError::getLine));
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        return report;
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.accenture.consulta.application.importacao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitor mínimo de CSV (RFC 4180) linha a linha: separador vírgula, campos opcionalmente
+ * entre aspas e aspas escapadas como "". Campos com quebra de linha não são suportados.
+ */
+public final class CsvLineParser {
+
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    public CsvLineParser(String headerLine) {
+        List<String> header = split(headerLine);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+    }
+
+    public Map<String, String> parse(String line) {
+        List<String> values = split(line);
+        Map<String, String> row = new HashMap<>(columns.size() * 2);
+        columns.forEach((name, index) -> {
+            String value = index < values.size() ? values.get(index).trim() : null;
+            row.put(name, value == null || value.isEmpty() ? null : value);
+        });
+        return row;
+    }
+
+    static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("aspas não fechadas");
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.accenture.consulta.application.importacao;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,40 @@
+package br.com.accenture.consulta.application.importacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ImportReport {
+    private long total;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private List<ImportError> errors = new ArrayList<>();
+
+    public void addRows(long rows) {
+        total += rows;
+    }
+
+    public void addImported(long rows) {
+        imported += rows;
+    }
+
+    public void addError(long line, String key, String error) {
+        failed++;
+        errors.add(new ImportError(line, key, error));
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ImportError {
+        private long line;
+        private String key;
+        private String error;
+    }
+}
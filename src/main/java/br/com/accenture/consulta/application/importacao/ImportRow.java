@@ -0,0 +1,4 @@
+package br.com.accenture.consulta.application.importacao;
+
+public record ImportRow<T>(long line, T value) {
+}
@@ -0,0 +1,18 @@
+package br.com.accenture.consulta.application.paginacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorSlice<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    // Token opaco para pedir a próxima fatia; nulo na última
+    private String nextCursor;
+}
@@ -0,0 +1,48 @@
+package br.com.accenture.consulta.application.paginacao;
+
+import br.com.accenture.consulta.domain.exception.InvalidRequestParameterException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Token de continuação da paginação por keyset: guarda o último par (chave de ordenação, id)
+ * devolvido. A chave pode ser nula, já que nome e nomeFantasia são opcionais.
+ */
+public record CursorToken(String sortKey, String id) {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final String VERSION = "1";
+
+    public static final int MAX_SIZE = 1000;
+
+    public String encode() {
+        String raw = VERSION + (sortKey == null ? "N" : "V" + sortKey) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (!raw.startsWith(VERSION) || separator < 2 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException(token);
+            }
+            char kind = raw.charAt(1);
+            if (kind == 'N' && separator == 2) {
+                return new CursorToken(null, raw.substring(separator + 1));
+            }
+            if (kind != 'V') {
+                throw new IllegalArgumentException(token);
+            }
+            String key = raw.substring(2, separator);
+            return new CursorToken(key, raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestParameterException("Cursor inválido.");
+        }
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
@@ -0,0 +1,314 @@
+package br.com.accenture.consulta.application.sugestao;
+
+import br.com.accenture.consulta.domain.busca.NomeBusca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice em memória para autocomplete sobre um nome (fornecedor ou empresa).
+ * Termos com 3+ caracteres usam postings de trigramas (casam em qualquer posição do nome);
+ * termos curtos, típicos das primeiras teclas, usam a trie de prefixos de palavra.
+ * Remoções só marcam o documento como morto; o índice é compactado quando os mortos passam dos vivos.
+ */
+public class NomeIndex {
+
+    private static final int MIN_COMPACT = 1024;
+
+    private static final Comparator<Candidato> MELHOR_PRIMEIRO = Comparator
+            .comparingInt(Candidato::score).reversed()
+            .thenComparingInt(Candidato::length)
+            .thenComparing(Candidato::normalizado);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> docById = new HashMap<>();
+    private final Map<Long, IntList> trigramas = new HashMap<>();
+    private final PrefixTrie palavras = new PrefixTrie();
+    private String[] ids = new String[1024];
+    private String[] nomes = new String[1024];
+    private String[] documentos = new String[1024];
+    // Nulo marca documento removido
+    private String[] normalizados = new String[1024];
+    private int docCount;
+    private int liveCount;
+
+    // Durante a carga inicial, escritas concorrentes têm precedência sobre as linhas do scan
+    private boolean loading;
+    private final Set<String> tocadosDuranteCarga = new HashSet<>();
+
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            tocadosDuranteCarga.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void load(String id, String nome, String documento) {
+        lock.writeLock().lock();
+        try {
+            if (!tocadosDuranteCarga.contains(id) && !docById.containsKey(id)) {
+                append(id, nome, documento);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void endLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            tocadosDuranteCarga.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(String id, String nome, String documento) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            Integer doc = docById.get(id);
+            if (doc != null) {
+                if (Objects.equals(normalizados[doc], NomeBusca.normalize(nome))) {
+                    nomes[doc] = nome;
+                    documentos[doc] = documento;
+                    return;
+                }
+                kill(doc);
+                compactIfNeeded();
+            }
+            append(id, nome, documento);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            markTouched(id);
+            Integer doc = docById.remove(id);
+            if (doc != null) {
+                kill(doc);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Sugestao> suggest(String query, int limit) {
+        String termo = NomeBusca.normalize(query);
+        if (termo == null || termo.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String[] tokens = termo.split(" ");
+
+        lock.readLock().lock();
+        try {
+            int[] candidatos = null;
+            for (String token : tokens) {
+                int[] docs = token.length() >= 3 ? docsWithTrigrams(token) : palavras.docsWithPrefix(token);
+                candidatos = candidatos == null ? docs : IntList.intersect(candidatos, docs);
+                if (candidatos.length == 0) {
+                    return List.of();
+                }
+            }
+
+            // Heap com o pior no topo: mantém só os k melhores
+            PriorityQueue<Candidato> top = new PriorityQueue<>(limit + 1, MELHOR_PRIMEIRO.reversed());
+            for (int doc : candidatos) {
+                String normalizado = normalizados[doc];
+                if (normalizado == null) {
+                    continue;
+                }
+                int score = score(normalizado, termo, tokens);
+                if (score > 0) {
+                    top.add(new Candidato(doc, score, normalizado.length(), normalizado));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+
+            List<Candidato> ordenados = new ArrayList<>(top);
+            ordenados.sort(MELHOR_PRIMEIRO);
+            List<Sugestao> sugestoes = new ArrayList<>(ordenados.size());
+            for (Candidato c : ordenados) {
+                sugestoes.add(new Sugestao(ids[c.doc()], nomes[c.doc()], documentos[c.doc()]));
+            }
+            return sugestoes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documentos mortos (removidos ou renomeados) que ainda ocupam arrays e postings até a próxima compactação
+    public int removidos() {
+        lock.readLock().lock();
+        try {
+            return docCount - liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isLoading() {
+        lock.readLock().lock();
+        try {
+            return loading;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 3: o nome começa pelo termo; 2: alguma palavra começa pelo termo; 1: o termo aparece no meio; 0: não casa
+    private static int score(String normalizado, String termo, String[] tokens) {
+        for (String token : tokens) {
+            boolean casa = token.length() >= 3 ? normalizado.contains(token) : hasWordPrefix(normalizado, token);
+            if (!casa) {
+                return 0;
+            }
+        }
+        if (normalizado.startsWith(termo)) {
+            return 3;
+        }
+        return hasWordPrefix(normalizado, termo) ? 2 : 1;
+    }
+
+    private static boolean hasWordPrefix(String normalizado, String prefixo) {
+        if (normalizado.startsWith(prefixo)) {
+            return true;
+        }
+        for (int i = normalizado.indexOf(' '); i >= 0; i = normalizado.indexOf(' ', i + 1)) {
+            if (normalizado.startsWith(prefixo, i + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int[] docsWithTrigrams(String token) {
+        // Começa pela lista mais curta para a interseção encolher rápido
+        List<IntList> postings = new ArrayList<>(token.length() - 2);
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            IntList list = trigramas.get(trigrama(token, i));
+            if (list == null) {
+                return new int[0];
+            }
+            postings.add(list);
+        }
+        postings.sort(Comparator.comparingInt(IntList::size));
+        int[] docs = postings.get(0).toArray();
+        for (int i = 1; i < postings.size() && docs.length > 0; i++) {
+            docs = IntList.intersect(docs, postings.get(i));
+        }
+        return docs;
+    }
+
+    private void append(String id, String nome, String documento) {
+        String normalizado = NomeBusca.normalize(nome);
+        if (normalizado == null || normalizado.isEmpty()) {
+            return;
+        }
+        if (docCount == ids.length) {
+            int capacity = docCount * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            nomes = Arrays.copyOf(nomes, capacity);
+            documentos = Arrays.copyOf(documentos, capacity);
+            normalizados = Arrays.copyOf(normalizados, capacity);
+        }
+        int doc = docCount++;
+        ids[doc] = id;
+        nomes[doc] = nome;
+        documentos[doc] = documento;
+        normalizados[doc] = normalizado;
+        docById.put(id, doc);
+        liveCount++;
+
+        for (int i = 0; i + 3 <= normalizado.length(); i++) {
+            trigramas.computeIfAbsent(trigrama(normalizado, i), k -> new IntList()).addSorted(doc);
+        }
+        for (String palavra : normalizado.split(" ")) {
+            palavras.add(palavra, doc);
+        }
+    }
+
+    private void kill(int doc) {
+        docById.remove(ids[doc]);
+        ids[doc] = null;
+        nomes[doc] = null;
+        documentos[doc] = null;
+        normalizados[doc] = null;
+        liveCount--;
+    }
+
+    private void compactIfNeeded() {
+        if (docCount - liveCount > Math.max(MIN_COMPACT, liveCount)) {
+            compact();
+        }
+    }
+
+    // Reconstrói postings e trie só com os vivos; os ids internos voltam a ser densos
+    private void compact() {
+        String[] oldIds = ids;
+        String[] oldNomes = nomes;
+        String[] oldDocumentos = documentos;
+        int oldCount = docCount;
+
+        int capacity = Math.max(1024, liveCount * 2);
+        ids = new String[capacity];
+        nomes = new String[capacity];
+        documentos = new String[capacity];
+        normalizados = new String[capacity];
+        docCount = 0;
+        liveCount = 0;
+        docById.clear();
+        trigramas.clear();
+        palavras.clear();
+        for (int doc = 0; doc < oldCount; doc++) {
+            if (oldIds[doc] != null) {
+                append(oldIds[doc], oldNomes[doc], oldDocumentos[doc]);
+            }
+        }
+    }
+
+    private void markTouched(String id) {
+        if (loading) {
+            tocadosDuranteCarga.add(id);
+        }
+    }
+
+    private static long trigrama(String s, int start) {
+        return ((long) s.charAt(start) << 32) | ((long) s.charAt(start + 1) << 16) | s.charAt(start + 2);
+    }
+
+    private record Candidato(int doc, int score, int length, String normalizado) {
+    }
+}
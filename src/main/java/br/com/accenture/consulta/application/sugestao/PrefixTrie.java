@@ -0,0 +1,89 @@
+package br.com.accenture.consulta.application.sugestao;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Trie de palavras normalizadas. Cada nó terminal guarda os documentos que contêm a palavra;
+ * uma busca por prefixo une os postings da subárvore.
+ */
+final class PrefixTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private Node root = new Node();
+
+    void add(String word, int doc) {
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.childOrCreate(word.charAt(i));
+        }
+        if (node.docs == null) {
+            node.docs = new IntList();
+        }
+        node.docs.addSorted(doc);
+    }
+
+    void clear() {
+        root = new Node();
+    }
+
+    // Documentos com alguma palavra começando pelo prefixo, em ordem crescente
+    int[] docsWithPrefix(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null) {
+            return new int[0];
+        }
+        BitSet docs = new BitSet();
+        collect(node, docs);
+        return docs.stream().toArray();
+    }
+
+    private static void collect(Node node, BitSet docs) {
+        if (node.docs != null) {
+            for (int i = 0; i < node.docs.size(); i++) {
+                docs.set(node.docs.get(i));
+            }
+        }
+        for (int i = 0; i < node.size; i++) {
+            collect(node.children[i], docs);
+        }
+    }
+
+    // Filhos em arrays paralelos ordenados: bem mais compacto que um HashMap por nó
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int size;
+        private IntList docs;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (size == keys.length) {
+                int capacity = Math.max(2, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, size - insertAt);
+            Node created = new Node();
+            keys[insertAt] = key;
+            children[insertAt] = created;
+            size++;
+            return created;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.accenture.consulta.application.sugestao;
+
+public record Sugestao(String id, String nome, String documento) {
+}
@@ -0,0 +1,77 @@
+package br.com.accenture.consulta.application.sugestao;
+
+import br.com.accenture.consulta.domain.entities.Empresa;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Índices de autocomplete de fornecedores e empresas. As escritas dos serviços chegam aqui
+ * só depois do commit, para que um rollback não deixe sugestões fantasmas.
+ */
+@Component
+public class SugestaoIndex {
+
+    public static final int MAX_LIMIT = 50;
+
+    private final NomeIndex fornecedores = new NomeIndex();
+    private final NomeIndex empresas = new NomeIndex();
+
+    public List<Sugestao> suggestFornecedores(String query, int limit) {
+        return fornecedores.suggest(query, clamp(limit));
+    }
+
+    public List<Sugestao> suggestEmpresas(String query, int limit) {
+        return empresas.suggest(query, clamp(limit));
+    }
+
+    public void fornecedorSaved(Fornecedor fornecedor) {
+        String id = fornecedor.getId();
+        String nome = fornecedor.getNome();
+        String documento = fornecedor.getCpfCnpj();
+        afterCommit(() -> fornecedores.upsert(id, nome, documento));
+    }
+
+    public void fornecedorDeleted(String id) {
+        afterCommit(() -> fornecedores.remove(id));
+    }
+
+    public void empresaSaved(Empresa empresa) {
+        String id = empresa.getId();
+        String nome = empresa.getNomeFantasia();
+        String documento = empresa.getCnpj();
+        afterCommit(() -> empresas.upsert(id, nome, documento));
+    }
+
+    public void empresaDeleted(String id) {
+        afterCommit(() -> empresas.remove(id));
+    }
+
+    NomeIndex fornecedores() {
+        return fornecedores;
+    }
+
+    NomeIndex empresas() {
+        return empresas;
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.accenture.consulta.application.sugestao;
+
+import br.com.accenture.consulta.repository.EmpresaRepository;
+import br.com.accenture.consulta.repository.EmpresaResumo;
+import br.com.accenture.consulta.repository.FornecedorNome;
+import br.com.accenture.consulta.repository.FornecedorRepository;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Preenche os índices de autocomplete na subida com um scan em streaming das duas tabelas.
+ * Só as colunas necessárias são lidas, sem montar entidades.
+ */
+@Component
+public class SugestaoIndexLoader implements ApplicationRunner {
+
+    private final SugestaoIndex sugestaoIndex;
+    private final FornecedorRepository fornecedorRepository;
+    private final EmpresaRepository empresaRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public SugestaoIndexLoader(SugestaoIndex sugestaoIndex,
+                               FornecedorRepository fornecedorRepository,
+                               EmpresaRepository empresaRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.sugestaoIndex = sugestaoIndex;
+        this.fornecedorRepository = fornecedorRepository;
+        this.empresaRepository = empresaRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        NomeIndex fornecedores = sugestaoIndex.fornecedores();
+        fornecedores.beginLoad();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<FornecedorNome> rows = fornecedorRepository.streamAllNomes()) {
+                    rows.forEach(row -> fornecedores.load(row.id(), row.nome(), row.cpfCnpj()));
+                }
+            });
+        } finally {
+            fornecedores.endLoad();
+        }
+
+        NomeIndex empresas = sugestaoIndex.empresas();
+        empresas.beginLoad();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<EmpresaResumo> rows = empresaRepository.streamAllResumos()) {
+                    rows.forEach(row -> empresas.load(row.id(), row.nomeFantasia(), row.cnpj()));
+                }
+            });
+        } finally {
+            empresas.endLoad();
+        }
+    }
+}
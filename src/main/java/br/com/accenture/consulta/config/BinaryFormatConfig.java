@@ -0,0 +1,46 @@
+package br.com.accenture.consulta.config;
+
+import br.com.accenture.consulta.application.formato.CompactPageSerializer;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Respostas binárias por negociação de conteúdo: Accept application/x-jackson-smile ou
+ * application/cbor. Os mesmos DTOs, escritos em streaming direto na resposta; sem Accept
+ * (ou com application/json) nada muda.
+ * Smile referencia nomes de campo já escritos em vez de repeti-los, o que rende mais nas
+ * listas; CBOR fica para clientes que não têm Jackson.
+ * Os mappers não são expostos como bean para não substituir o ObjectMapper JSON da aplicação.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(compactMapper(builder, new SmileFactory()));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(compactMapper(builder, new CBORFactory()));
+    }
+
+    // Datas como [ano, mês, dia] em inteiros curtos, nulos omitidos e Page sem os metadados do PageImpl
+    public static ObjectMapper compactMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .serializerByType(Page.class, new CompactPageSerializer())
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.accenture.consulta.config;
+
+import br.com.accenture.consulta.domain.busca.NomeBusca;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * O ddl-auto cria as colunas de busca, mas não sabe criar índices GIN com pg_trgm nem
+ * índices com classe de operador. Na subida cria a extensão e os índices (idempotente) e
+ * preenche a forma normalizada dos registros gravados antes da coluna existir.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BuscaIndexInitializer implements ApplicationRunner {
+
+    private static final int BACKFILL_BATCH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${consulta.busca.create-indexes:true}")
+    private boolean createIndexes;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!createIndexes || !isPostgres()) {
+            return;
+        }
+        execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        execute("CREATE INDEX IF NOT EXISTS idx_fornecedor_nome_busca_trgm " +
+                "ON fornecedor_tb USING gin (nome_busca gin_trgm_ops)");
+        execute("CREATE INDEX IF NOT EXISTS idx_empresa_nome_fantasia_busca_trgm " +
+                "ON empresa_tb USING gin (nome_fantasia_busca gin_trgm_ops)");
+        // Filtro por prefixo de CEP (LIKE '80010%'): fora da collation C só text_pattern_ops atende
+        execute("CREATE INDEX IF NOT EXISTS idx_fornecedor_cep_prefixo ON fornecedor_tb (cep text_pattern_ops)");
+        execute("CREATE INDEX IF NOT EXISTS idx_empresa_cep_prefixo ON empresa_tb (cep text_pattern_ops)");
+        backfill("fornecedor_tb", "nome", "nome_busca");
+        backfill("empresa_tb", "nome_fantasia", "nome_fantasia_busca");
+    }
+
+    private boolean isPostgres() {
+        Boolean postgres = jdbcTemplate.execute((Connection connection) ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        return Boolean.TRUE.equals(postgres);
+    }
+
+    private void execute(String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            // Sem permissão para a extensão a busca continua funcionando, só que sem índice
+            log.warn("Não foi possível executar '{}': {}", sql, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void backfill(String table, String source, String target) {
+        String select = "SELECT id, " + source + " FROM " + table +
+                " WHERE " + target + " IS NULL AND " + source + " IS NOT NULL LIMIT " + BACKFILL_BATCH;
+        String update = "UPDATE " + table + " SET " + target + " = ? WHERE id = ?";
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList(select);
+            List<Object[]> batch = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                batch.add(new Object[]{NomeBusca.normalize((String) row.get(source)), row.get("id")});
+            }
+            jdbcTemplate.batchUpdate(update, batch);
+        } while (rows.size() == BACKFILL_BATCH);
+    }
+}
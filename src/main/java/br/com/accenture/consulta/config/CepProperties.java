@@ -0,0 +1,46 @@
+package br.com.accenture.consulta.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "consulta.cep")
+public class CepProperties {
+
+    private Cache cache = new Cache();
+    private Http http = new Http();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Hedge hedge = new Hedge();
+
+    @Data
+    public static class Cache {
+        private long maxSize = 50_000;
+        private Duration ttl = Duration.ofHours(24);
+        // Respostas "erro: true" do ViaCEP ficam menos tempo em cache
+        private Duration negativeTtl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Http {
+        private String baseUrl = "http://viacep.com.br/ws";
+        private Duration connectTimeout = Duration.ofMillis(500);
+        private Duration readTimeout = Duration.ofSeconds(2);
+        private Duration connectionRequestTimeout = Duration.ofMillis(200);
+        private int maxConnections = 50;
+        private int maxConnectionsPerRoute = 20;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Hedge {
+        private boolean enabled = false;
+        private Duration delay = Duration.ofMillis(300);
+    }
+}
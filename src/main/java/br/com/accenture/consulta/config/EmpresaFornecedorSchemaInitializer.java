@@ -0,0 +1,57 @@
+package br.com.accenture.consulta.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+
+/**
+ * O Hibernate mapeia empresa_fornecedor como bag, sem chave primária. Os vínculos agora são gravados
+ * direto na tabela (INSERT ... ON CONFLICT DO NOTHING), então ela precisa da chave composta
+ * (empresa_id, fornecedor_id) e de um índice reverso por fornecedor_id. Duplicatas antigas são removidas antes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmpresaFornecedorSchemaInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!isPostgres() || !tableExists()) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_empresa_fornecedor_fornecedor ON empresa_fornecedor (fornecedor_id)");
+        if (hasPrimaryKey()) {
+            return;
+        }
+        int duplicates = jdbcTemplate.update("DELETE FROM empresa_fornecedor a USING empresa_fornecedor b " +
+                "WHERE a.ctid > b.ctid AND a.empresa_id = b.empresa_id AND a.fornecedor_id = b.fornecedor_id");
+        jdbcTemplate.update("DELETE FROM empresa_fornecedor WHERE empresa_id IS NULL OR fornecedor_id IS NULL");
+        jdbcTemplate.execute("ALTER TABLE empresa_fornecedor ADD CONSTRAINT empresa_fornecedor_pkey " +
+                "PRIMARY KEY (empresa_id, fornecedor_id)");
+        log.info("Chave primária criada em empresa_fornecedor ({} vínculos duplicados removidos)", duplicates);
+    }
+
+    private boolean isPostgres() {
+        Boolean postgres = jdbcTemplate.execute((Connection connection) ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        return Boolean.TRUE.equals(postgres);
+    }
+
+    private boolean tableExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass('empresa_fornecedor') IS NOT NULL", Boolean.class));
+    }
+
+    private boolean hasPrimaryKey() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_constraint " +
+                "WHERE conrelid = 'empresa_fornecedor'::regclass AND contype = 'p'", Integer.class);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.accenture.consulta.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Executor das verificações de banco e CEP feitas em paralelo no cadastro de fornecedores.
+    // Com a fila cheia a tarefa roda na própria thread da requisição (degrada para sequencial).
+    @Bean(name = "validationExecutor")
+    public ThreadPoolTaskExecutor validationExecutor(@Value("${consulta.validation.threads:16}") int threads,
+                                                     @Value("${consulta.validation.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("fornecedor-validation-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Executor das gravações assíncronas (POST de fornecedor). Recebe continuações das threads de I/O
+    // do cliente HTTP, então não pode devolver a tarefa para quem chamou: com a fila cheia a gravação
+    // é rejeitada e a requisição responde 503 em vez de travar o reator.
+    @Bean(name = "ioExecutor")
+    public ThreadPoolTaskExecutor ioExecutor(@Value("${consulta.async.io-threads:16}") int threads,
+                                             @Value("${consulta.async.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("consulta-io-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
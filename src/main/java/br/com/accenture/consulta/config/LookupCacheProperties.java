@@ -0,0 +1,24 @@
+package br.com.accenture.consulta.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "consulta.lookup-cache")
+public class LookupCacheProperties {
+
+    private long maxSize = 100_000;
+    private Duration ttl = Duration.ofMinutes(10);
+    // "Não encontrado" expira antes, limitando o efeito de uma invalidação perdida
+    private Duration negativeTtl = Duration.ofMinutes(1);
+    private Notify notify = new Notify();
+
+    @Data
+    public static class Notify {
+        private boolean enabled = true;
+        private String channel = "consulta_cache";
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+    }
+}
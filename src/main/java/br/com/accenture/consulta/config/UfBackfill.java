@@ -0,0 +1,100 @@
+package br.com.accenture.consulta.config;
+
+import br.com.accenture.consulta.domain.cep.CepUfTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Preenche a UF dos registros gravados antes da coluna existir. A leitura percorre as linhas
+ * pendentes por keyset em id, em blocos; cada bloco é resolvido pela tabela de faixas e gravado
+ * em lote numa thread do pool, enquanto o próximo bloco já é lido. A fila curta limita quantos
+ * blocos ficam em memória: com ela cheia o próprio leitor grava o bloco.
+ * CEPs fora das faixas conhecidas ficam com UF nula e são pulados pelo keyset.
+ */
+@Slf4j
+@Component
+public class UfBackfill implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int threads;
+    private final int chunkSize;
+
+    public UfBackfill(JdbcTemplate jdbcTemplate,
+                      @Value("${consulta.uf-backfill.threads:4}") int threads,
+                      @Value("${consulta.uf-backfill.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException, ExecutionException {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads), new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            int fornecedores = backfill("fornecedor_tb", executor);
+            int empresas = backfill("empresa_tb", executor);
+            if (fornecedores + empresas > 0) {
+                log.info("UF preenchida em {} fornecedores e {} empresas", fornecedores, empresas);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private int backfill(String table, ThreadPoolExecutor executor) throws InterruptedException, ExecutionException {
+        String select = "SELECT id, cep FROM " + table +
+                " WHERE uf IS NULL AND cep IS NOT NULL AND id > ? ORDER BY id LIMIT " + chunkSize;
+        String update = "UPDATE " + table + " SET uf = ? WHERE id = ? AND uf IS NULL";
+        List<Future<Integer>> pending = new ArrayList<>();
+        String lastId = "";
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList(select, lastId);
+            if (rows.isEmpty()) {
+                break;
+            }
+            lastId = (String) rows.get(rows.size() - 1).get("id");
+            List<Object[]> batch = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                String uf = CepUfTable.ufOf((String) row.get("cep"));
+                if (uf != null) {
+                    batch.add(new Object[]{uf, row.get("id")});
+                }
+            }
+            if (!batch.isEmpty()) {
+                pending.add(executor.submit(() -> batch.size() - countMisses(jdbcTemplate.batchUpdate(update, batch))));
+            }
+        } while (rows.size() == chunkSize);
+
+        int updated = 0;
+        for (Future<Integer> future : pending) {
+            updated += future.get();
+        }
+        return updated;
+    }
+
+    // Linhas que outra escrita preencheu entre a leitura e o UPDATE
+    private static int countMisses(int[] counts) {
+        int misses = 0;
+        for (int count : counts) {
+            if (count == 0) {
+                misses++;
+            }
+        }
+        return misses;
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.accenture.consulta.config;
+
+import br.com.accenture.consulta.domain.entities.Empresa;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Bancos criados antes das constraints nomeadas ainda têm as únicas geradas pelo Hibernate
+ * ({@code uk_<hash>}) nas mesmas colunas, e o ddl-auto=update adiciona as novas sem remover as antigas.
+ * Uma inserção duplicada pode então violar a antiga, cujo nome o DuplicatedTupleTranslator não reconhece.
+ * Na subida, a antiga é removida quando a nomeada já existe, ou renomeada para ela quando não existe.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UniqueConstraintInitializer implements ApplicationRunner {
+
+    private record Unica(String tabela, String coluna, String nome) {
+    }
+
+    private static final List<Unica> UNICAS = List.of(
+            new Unica("fornecedor_tb", "cpf_cnpj", Fornecedor.UK_CPF_CNPJ),
+            new Unica("fornecedor_tb", "email", Fornecedor.UK_EMAIL),
+            new Unica("fornecedor_tb", "rg", Fornecedor.UK_RG),
+            new Unica("empresa_tb", "cnpj", Empresa.UK_CNPJ)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!isPostgres()) {
+            return;
+        }
+        for (Unica unica : UNICAS) {
+            if (tableExists(unica.tabela())) {
+                ajustar(unica);
+            }
+        }
+    }
+
+    private void ajustar(Unica unica) {
+        List<String> antigas = jdbcTemplate.queryForList("SELECT c.conname FROM pg_constraint c " +
+                "JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1] " +
+                "WHERE c.conrelid = ?::regclass AND c.contype = 'u' AND cardinality(c.conkey) = 1 " +
+                "AND a.attname = ? AND c.conname <> ?", String.class, unica.tabela(), unica.coluna(), unica.nome());
+        if (antigas.isEmpty()) {
+            return;
+        }
+        int inicio = 0;
+        if (!constraintExists(unica)) {
+            jdbcTemplate.execute("ALTER TABLE " + unica.tabela() + " RENAME CONSTRAINT " + quote(antigas.get(0))
+                    + " TO " + unica.nome());
+            log.info("Constraint {} de {}.{} renomeada para {}", antigas.get(0), unica.tabela(), unica.coluna(), unica.nome());
+            inicio = 1;
+        }
+        for (String antiga : antigas.subList(inicio, antigas.size())) {
+            jdbcTemplate.execute("ALTER TABLE " + unica.tabela() + " DROP CONSTRAINT " + quote(antiga));
+            log.info("Constraint {} de {}.{} removida (substituída por {})", antiga, unica.tabela(), unica.coluna(), unica.nome());
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean postgres = jdbcTemplate.execute((Connection connection) ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        return Boolean.TRUE.equals(postgres);
+    }
+
+    private boolean tableExists(String tabela) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, tabela));
+    }
+
+    private boolean constraintExists(Unica unica) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_constraint " +
+                "WHERE conrelid = ?::regclass AND conname = ?", Integer.class, unica.tabela(), unica.nome());
+        return count != null && count > 0;
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.accenture.consulta.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registros gravados antes da coluna de versão existir ficam com version nulo,
+ * o que quebra o lock otimista e a ETag. Na subida eles passam a versão 0.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VersionBackfill implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int fornecedores = jdbcTemplate.update("UPDATE fornecedor_tb SET version = 0 WHERE version IS NULL");
+        int empresas = jdbcTemplate.update("UPDATE empresa_tb SET version = 0 WHERE version IS NULL");
+        if (fornecedores + empresas > 0) {
+            log.info("Versão inicial atribuída a {} fornecedores e {} empresas", fornecedores, empresas);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.accenture.consulta.domain.busca;
+
+import br.com.accenture.consulta.domain.exception.InvalidRequestParameterException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forma normalizada dos nomes usada na busca: minúsculas, sem acentos e com espaços colapsados,
+ * para que "Sao" encontre "São". É gravada em coluna própria, coberta por índice trigram (pg_trgm).
+ */
+public final class NomeBusca {
+
+    // Teto dos endpoints antigos /nome e /nomeFantasia, que devolvem lista sem paginação
+    public static final int MAX_RESULTADOS = 500;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private NomeBusca() {
+    }
+
+    public static String normalize(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        String semAcento = MARCAS.matcher(Normalizer.normalize(nome, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcento.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public static String requireTermo(String termo) {
+        String normalizado = normalize(termo);
+        if (normalizado == null || normalizado.isEmpty()) {
+            throw new InvalidRequestParameterException("Informe o termo de busca.");
+        }
+        return normalizado;
+    }
+
+    public static Pageable pagina(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    // Padrão LIKE de substring, escapando os curingas digitados pelo usuário
+    public static String likePattern(String termoNormalizado) {
+        return escape(new StringBuilder(termoNormalizado.length() + 2).append('%'), termoNormalizado)
+                .append('%').toString();
+    }
+
+    // Padrão LIKE de prefixo: "abc%"
+    public static String prefixPattern(String termoNormalizado) {
+        return escape(new StringBuilder(termoNormalizado.length() + 1), termoNormalizado)
+                .append('%').toString();
+    }
+
+    private static StringBuilder escape(StringBuilder padrao, String termoNormalizado) {
+        for (int i = 0; i < termoNormalizado.length(); i++) {
+            char c = termoNormalizado.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                padrao.append('\\');
+            }
+            padrao.append(c);
+        }
+        return padrao;
+    }
+}
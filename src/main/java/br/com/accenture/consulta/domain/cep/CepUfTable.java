@@ -0,0 +1,75 @@
+package br.com.accenture.consulta.domain.cep;
+
+import java.util.Arrays;
+
+/**
+ * Faixas de CEP por UF conforme a distribuição dos Correios. Permite descobrir a UF
+ * sem consultar o ViaCEP; a validação do endereço continua sendo feita remotamente.
+ */
+public final class CepUfTable {
+
+    // Faixas ordenadas pelo início e sem sobreposição: RANGE_START[i]..RANGE_END[i] -> UFS[RANGE_UF[i]]
+    private static final String[] UFS = {
+            "SP", "RJ", "ES", "MG", "BA", "SE", "PE", "AL", "PB", "RN", "CE", "PI", "MA", "PA",
+            "AP", "AM", "RR", "AC", "DF", "GO", "RO", "TO", "MT", "MS", "PR", "SC", "RS"
+    };
+
+    private static final int[] RANGE_START = {
+            1000000, 20000000, 29000000, 30000000, 40000000, 49000000, 50000000, 57000000,
+            58000000, 59000000, 60000000, 64000000, 65000000, 66000000, 68900000, 69000000,
+            69300000, 69400000, 69900000, 70000000, 72800000, 73000000, 73700000, 76800000,
+            77000000, 78000000, 79000000, 80000000, 88000000, 90000000
+    };
+
+    private static final int[] RANGE_END = {
+            19999999, 28999999, 29999999, 39999999, 48999999, 49999999, 56999999, 57999999,
+            58999999, 59999999, 63999999, 64999999, 65999999, 68899999, 68999999, 69299999,
+            69399999, 69899999, 69999999, 72799999, 72999999, 73699999, 76799999, 76999999,
+            77999999, 78899999, 79999999, 87999999, 89999999, 99999999
+    };
+
+    private static final byte[] RANGE_UF = {
+            0, 1, 2, 3, 4, 5, 6, 7,
+            8, 9, 10, 11, 12, 13, 14, 15,
+            16, 15, 17, 18, 19, 18, 19, 20,
+            21, 22, 23, 24, 25, 26
+    };
+
+    private CepUfTable() {
+    }
+
+    public static String ufOf(String cep) {
+        int value = parse(cep);
+        return value < 0 ? null : ufOf(value);
+    }
+
+    public static String ufOf(int cep) {
+        int index = Arrays.binarySearch(RANGE_START, cep);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        if (index < 0 || cep > RANGE_END[index]) {
+            return null;
+        }
+        return UFS[RANGE_UF[index]];
+    }
+
+    // Converte "80000-000" ou "80000000" em int sem alocar; devolve -1 se não houver 8 dígitos
+    static int parse(String cep) {
+        if (cep == null) {
+            return -1;
+        }
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i < cep.length(); i++) {
+            char c = cep.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits++;
+            } else if (c != '-' || i != 5) {
+                return -1;
+            }
+        }
+        return digits == 8 ? value : -1;
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.accenture.consulta.domain.entities;
 
+import br.com.accenture.consulta.domain.busca.NomeBusca;
+import br.com.accenture.consulta.domain.cep.CepUfTable;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,28 +11,53 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Entity
-@Table(name = "empresa_tb")
+@Table(name = "empresa_tb", uniqueConstraints = {
+        @UniqueConstraint(name = Empresa.UK_CNPJ, columnNames = "cnpj")
+}, indexes = {
+        @Index(name = "idx_empresa_nome_fantasia_id", columnList = "nome_fantasia, id"),
+        @Index(name = "idx_empresa_uf_nome_fantasia", columnList = "uf, nome_fantasia")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Empresa {
+    public static final String UK_CNPJ = "uk_empresa_cnpj";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
-    @Column(unique = true)
+    @Column
     private String cnpj;
     @Column
     private String nomeFantasia;
     @Column
     private String cep;
-    @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.PERSIST)
+    @ManyToMany(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
     @JoinTable(
             name = "empresa_fornecedor",
             joinColumns = @JoinColumn(name = "empresa_id"),
-            inverseJoinColumns = @JoinColumn(name = "fornecedor_id")
+            inverseJoinColumns = @JoinColumn(name = "fornecedor_id"),
+            // A chave primária (empresa_id, fornecedor_id) já cobre a busca por empresa; este cobre a reversa
+            indexes = @Index(name = "idx_empresa_fornecedor_fornecedor", columnList = "fornecedor_id")
     )
     private List<Fornecedor> fornecedores;
+    // Controle otimista: também incrementada quando a lista de fornecedores muda
+    @Version
+    private Long version;
+    // Nome fantasia sem acentos e em minúsculas, mantido a cada escrita para a busca por trigramas
+    @Column(name = "nome_fantasia_busca")
+    private String nomeFantasiaBusca;
+    // UF derivada do CEP na escrita, para filtrar pelo índice sem resolver o CEP de cada linha
+    @Column(length = 2)
+    private String uf;
+
+    @PrePersist
+    @PreUpdate
+    void preencherColunasDerivadas() {
+        this.nomeFantasiaBusca = NomeBusca.normalize(this.nomeFantasia);
+        this.uf = CepUfTable.ufOf(this.cep);
+    }
 
 }
 
@@ -1,5 +1,7 @@
 package br.com.accenture.consulta.domain.entities;
 
+import br.com.accenture.consulta.domain.busca.NomeBusca;
+import br.com.accenture.consulta.domain.cep.CepUfTable;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import lombok.AllArgsConstructor;
@@ -13,16 +15,28 @@ import java.time.Period;
 import java.util.List;
 
 @Entity
-@Table(name = "fornecedor_tb")
+@Table(name = "fornecedor_tb", uniqueConstraints = {
+        @UniqueConstraint(name = Fornecedor.UK_CPF_CNPJ, columnNames = "cpf_cnpj"),
+        @UniqueConstraint(name = Fornecedor.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = Fornecedor.UK_RG, columnNames = "rg")
+}, indexes = {
+        @Index(name = "idx_fornecedor_nome_id", columnList = "nome, id"),
+        @Index(name = "idx_fornecedor_uf_nome", columnList = "uf, nome"),
+        @Index(name = "idx_fornecedor_data_nascimento", columnList = "data_nascimento")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Fornecedor {
+    public static final String UK_CPF_CNPJ = "uk_fornecedor_cpf_cnpj";
+    public static final String UK_EMAIL = "uk_fornecedor_email";
+    public static final String UK_RG = "uk_fornecedor_rg";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
-    @Column(unique = true)
+    @Column(name = "cpf_cnpj")
     private String cpfCnpj;
     @Column
     private String nome;
@@ -31,12 +45,28 @@ public class Fornecedor {
     private String email;
     @Column
     private String cep;
-    @Column(unique = true)
+    @Column
     private String rg;
     @Column
     private LocalDate dataNascimento;
     @ManyToMany(mappedBy = "fornecedores")
     private List<Empresa> empresas;
+    // Controle otimista: cada UPDATE confere e incrementa a versão; também alimenta o ETag
+    @Version
+    private Long version;
+    // Nome sem acentos e em minúsculas, mantido a cada escrita para a busca por trigramas
+    @Column(name = "nome_busca")
+    private String nomeBusca;
+    // UF derivada do CEP na escrita, para filtrar pelo índice sem resolver o CEP de cada linha
+    @Column(length = 2)
+    private String uf;
+
+    @PrePersist
+    @PreUpdate
+    void preencherColunasDerivadas() {
+        this.nomeBusca = NomeBusca.normalize(this.nome);
+        this.uf = CepUfTable.ufOf(this.cep);
+    }
 
     public boolean isPessoaFisica() {
         return this.cpfCnpj != null && this.cpfCnpj.length() == 11;  // Assuming CPF is 11 digits long
@@ -0,0 +1,12 @@
+package br.com.accenture.consulta.domain.exception;
+
+public class CepServiceUnavailableException extends RuntimeException {
+    public CepServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public CepServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
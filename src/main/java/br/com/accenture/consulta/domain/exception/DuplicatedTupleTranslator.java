@@ -0,0 +1,71 @@
+package br.com.accenture.consulta.domain.exception;
+
+import br.com.accenture.consulta.domain.entities.Empresa;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Traduz violações das constraints únicas do banco nas mesmas mensagens de
+ * {@link DuplicatedTupleException} usadas pelas validações da aplicação.
+ * A constraint é reconhecida pelo nome e, se ele não for conhecido (constraints antigas com nome
+ * gerado pelo Hibernate), pela coluna que o Postgres informa no detalhe do erro.
+ */
+public final class DuplicatedTupleTranslator {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private static final Map<String, String> MESSAGES = Map.of(
+            Fornecedor.UK_CPF_CNPJ, "CNPJ/CPF existe.",
+            Fornecedor.UK_RG, "RG já existe.",
+            Fornecedor.UK_EMAIL, "Email already exists.",
+            Empresa.UK_CNPJ, "CNPJ já existe."
+    );
+
+    // Detalhe do Postgres: Key (cpf_cnpj)=(52998224725) already exists.
+    private static final Pattern KEY_COLUMN = Pattern.compile("Key \\(([a-z_]+)\\)=");
+
+    private static final Map<String, String> COLUMN_MESSAGES = Map.of(
+            "cpf_cnpj", "CNPJ/CPF existe.",
+            "rg", "RG já existe.",
+            "email", "Email already exists.",
+            "cnpj", "CNPJ já existe."
+    );
+
+    private DuplicatedTupleTranslator() {
+    }
+
+    public static Optional<DuplicatedTupleException> translate(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && UNIQUE_VIOLATION.equals(violation.getSQLState())) {
+                return Optional.of(new DuplicatedTupleException(messageFor(violation)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String messageFor(ConstraintViolationException violation) {
+        String constraintName = violation.getConstraintName();
+        if (constraintName != null) {
+            String name = constraintName.toLowerCase();
+            for (Map.Entry<String, String> entry : MESSAGES.entrySet()) {
+                if (name.contains(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        String detail = violation.getSQLException() == null ? null : violation.getSQLException().getMessage();
+        if (detail != null) {
+            Matcher matcher = KEY_COLUMN.matcher(detail);
+            if (matcher.find() && COLUMN_MESSAGES.containsKey(matcher.group(1))) {
+                return COLUMN_MESSAGES.get(matcher.group(1));
+            }
+        }
+        return "Registro duplicado.";
+    }
+}
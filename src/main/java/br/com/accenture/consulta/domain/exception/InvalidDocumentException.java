@@ -0,0 +1,8 @@
+package br.com.accenture.consulta.domain.exception;
+
+public class InvalidDocumentException extends RuntimeException {
+    public InvalidDocumentException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,8 @@
+package br.com.accenture.consulta.domain.exception;
+
+public class InvalidRequestParameterException extends RuntimeException {
+    public InvalidRequestParameterException(String message) {
+        super(message);
+    }
+
+}
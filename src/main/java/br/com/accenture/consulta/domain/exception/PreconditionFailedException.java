@@ -0,0 +1,8 @@
+package br.com.accenture.consulta.domain.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+}
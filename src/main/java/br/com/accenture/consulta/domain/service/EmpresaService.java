@@ -1,21 +1,48 @@
 package br.com.accenture.consulta.domain.service;
 
+import br.com.accenture.consulta.application.campos.Campos;
 import br.com.accenture.consulta.application.empresa.EmpresaDto;
+import br.com.accenture.consulta.application.empresa.EmpresaFiltro;
+import br.com.accenture.consulta.application.empresa.FetchPlan;
+import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
+import br.com.accenture.consulta.application.fornecedor.FornecedorOrdenacao;
+import br.com.accenture.consulta.application.fornecedor.TipoPessoa;
+import br.com.accenture.consulta.application.paginacao.CursorSlice;
 import br.com.accenture.consulta.domain.entities.Empresa;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface EmpresaService {
 
     Optional <Empresa> getByCnpj(String cnpj);
+    Optional<EmpresaDto> getByCnpj(String cnpj, FetchPlan fetchPlan);
+    Optional<String> getEtagByCnpj(String cnpj, FetchPlan fetchPlan);
     List<Empresa> getByNomeFantasia(String nomeFantasia);
+    List<EmpresaDto> getByNomeFantasia(String nomeFantasia, FetchPlan fetchPlan);
+    Page<EmpresaDto> searchByNomeFantasia(String nomeFantasia, Pageable pageable, FetchPlan fetchPlan);
     Optional<Empresa> getById(String id);
-    Page<EmpresaDto> getAllEmpresas(Pageable empresaPageable);
+    Page<EmpresaDto> getAllEmpresas(EmpresaFiltro filtro, Pageable empresaPageable, FetchPlan fetchPlan);
+    CursorSlice<EmpresaDto> getEmpresasAfter(String cursor, int size, FetchPlan fetchPlan);
+    List<Map<String, Object>> getByNomeFantasia(String nomeFantasia, Campos campos);
+    Page<Map<String, Object>> searchByNomeFantasia(String nomeFantasia, Pageable pageable, Campos campos);
+    Page<Map<String, Object>> getAllEmpresas(EmpresaFiltro filtro, Pageable empresaPageable, Campos campos);
+    CursorSlice<Map<String, Object>> getEmpresasAfter(String cursor, int size, Campos campos);
     Empresa save(Empresa empresa);
     Optional<Empresa> updateEmpresa(Empresa empresa);
+    Optional<Empresa> updateEmpresa(Empresa empresa, String ifMatch);
+
+    Optional<CursorSlice<FornecedorDto>> getFornecedores(String cnpj, String nomePrefixo, TipoPessoa tipo,
+                                                         FornecedorOrdenacao ordenacao, String cursor, int size);
+    Optional<CursorSlice<Map<String, Object>>> getFornecedores(String cnpj, String nomePrefixo, TipoPessoa tipo,
+                                                               FornecedorOrdenacao ordenacao, String cursor, int size,
+                                                               Campos campos);
+    Optional<Integer> vincularFornecedores(String empresaId, Collection<String> fornecedorIds);
+    Optional<Integer> desvincularFornecedores(String empresaId, Collection<String> fornecedorIds);
 
     boolean delete(String id);
 
@@ -1,23 +1,44 @@
 package br.com.accenture.consulta.domain.service;
 
+import br.com.accenture.consulta.application.campos.Campos;
 import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
+import br.com.accenture.consulta.application.fornecedor.FornecedorFiltro;
+import br.com.accenture.consulta.application.paginacao.CursorSlice;
 import br.com.accenture.consulta.domain.entities.Fornecedor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface FornecedorService {
     Optional<Fornecedor> getByCnpjOuCpf(String cpfCnpj);
+    Optional<FornecedorDto> getDtoByCnpjOuCpf(String cpfCnpj);
+    Optional<String> getEtagByCnpjOuCpf(String cpfCnpj);
     List<Fornecedor> getByNome(String nome);
+    List<FornecedorDto> getDtosByNome(String nome);
+    Page<FornecedorDto> searchByNome(String nome, Pageable pageable);
+    List<Map<String, Object>> getByNome(String nome, Campos campos);
+    Page<Map<String, Object>> searchByNome(String nome, Pageable pageable, Campos campos);
     List<Fornecedor> getByIds(List<String> ids);
     Optional<Fornecedor> getByEmail(String email);
+    Optional<FornecedorDto> getDtoByEmail(String email);
+    Optional<String> getEtagByEmail(String email);
     Optional<Fornecedor> getById(String id);
     Page<FornecedorDto> getAllFornecedores(Pageable empresaPageable);
+    Page<FornecedorDto> getAllFornecedores(FornecedorFiltro filtro, Pageable pageable);
+    Page<Map<String, Object>> getAllFornecedores(FornecedorFiltro filtro, Pageable pageable, Campos campos);
+    CursorSlice<FornecedorDto> getFornecedoresAfter(String cursor, int size);
+    CursorSlice<Map<String, Object>> getFornecedoresAfter(String cursor, int size, Campos campos);
     Fornecedor save (Fornecedor fornecedor);
+    CompletableFuture<Fornecedor> saveAsync(Fornecedor fornecedor);
     Optional<Fornecedor> updateFornecedor(Fornecedor fornecedor);
+    Optional<Fornecedor> updateFornecedor(Fornecedor fornecedor, String ifMatch);
 
 
     boolean delete(String id);
+    int deleteAll(Collection<String> ids);
 }
@@ -0,0 +1,24 @@
+package br.com.accenture.consulta.repository;
+
+import br.com.accenture.consulta.domain.entities.Empresa;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Consultas dinâmicas de leitura que devolvem só as colunas da empresa
+public interface EmpresaProjections {
+
+    Page<EmpresaView> findViews(Specification<Empresa> spec, Pageable pageable);
+
+    // Só os atributos pedidos (fields=), um mapa por linha na ordem de atributos
+    Page<Map<String, Object>> findMaps(Specification<Empresa> spec, List<String> atributos, Pageable pageable);
+
+    List<Map<String, Object>> findMaps(Specification<Empresa> spec, List<String> atributos, int limit);
+
+    // Fornecedores de várias empresas, só com os atributos pedidos, agrupados pelo id da empresa
+    Map<String, List<Map<String, Object>>> findFornecedorMaps(Collection<String> empresaIds, List<String> atributos);
+}
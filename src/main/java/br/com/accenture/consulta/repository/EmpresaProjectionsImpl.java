@@ -0,0 +1,66 @@
+package br.com.accenture.consulta.repository;
+
+import br.com.accenture.consulta.domain.entities.Empresa;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class EmpresaProjectionsImpl implements EmpresaProjections {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Page<EmpresaView> findViews(Specification<Empresa> spec, Pageable pageable) {
+        return ProjectionQueries.page(em, Empresa.class, EmpresaView.class, EmpresaProjectionsImpl::columns, spec, pageable);
+    }
+
+    @Override
+    public Page<Map<String, Object>> findMaps(Specification<Empresa> spec, List<String> atributos, Pageable pageable) {
+        return ProjectionQueries.pageMaps(em, Empresa.class, atributos, spec, pageable);
+    }
+
+    @Override
+    public List<Map<String, Object>> findMaps(Specification<Empresa> spec, List<String> atributos, int limit) {
+        return ProjectionQueries.listMaps(em, Empresa.class, atributos, spec, limit);
+    }
+
+    @Override
+    public Map<String, List<Map<String, Object>>> findFornecedorMaps(Collection<String> empresaIds, List<String> atributos) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Empresa> e = query.from(Empresa.class);
+        Join<Empresa, Fornecedor> f = e.join("fornecedores");
+        Selection<?>[] colunas = ProjectionQueries.selections(f, atributos);
+        Selection<?>[] selections = new Selection<?>[colunas.length + 1];
+        selections[0] = e.get("id");
+        System.arraycopy(colunas, 0, selections, 1, colunas.length);
+        query.select(cb.tuple(selections)).where(e.get("id").in(empresaIds));
+
+        Map<String, List<Map<String, Object>>> porEmpresa = new HashMap<>();
+        for (Tuple tuple : ProjectionQueries.readOnly(em.createQuery(query)).getResultList()) {
+            porEmpresa.computeIfAbsent(tuple.get(0, String.class), id -> new ArrayList<>())
+                    .add(ProjectionQueries.toMap(tuple, atributos, 1));
+        }
+        return porEmpresa;
+    }
+
+    private static Selection<?>[] columns(Root<Empresa> e) {
+        return new Selection<?>[]{e.get("id"), e.get("cnpj"), e.get("nomeFantasia"), e.get("cep"), e.get("version")};
+    }
+}
@@ -2,17 +2,189 @@ package br.com.accenture.consulta.repository;
 
 import br.com.accenture.consulta.application.empresa.EmpresaDto;
 import br.com.accenture.consulta.domain.entities.Empresa;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmpresaRepository extends JpaRepository<Empresa, String>, JpaSpecificationExecutor<Empresa> {
+public interface EmpresaRepository extends JpaRepository<Empresa, String>, JpaSpecificationExecutor<Empresa>,
+        EmpresaProjections {
     Optional<Empresa> findByCnpj(String cnpj);
     Optional<Empresa> findById(String id);
-    @Query("SELECT e FROM Empresa e WHERE LOWER(e.nomeFantasia) LIKE LOWER(CONCAT('%', :nomeFantasia, '%'))")
-    List<Empresa> findByNomeFantasia(@Param("nomeFantasia") String nomeFantasia);
+
+    // Leituras da API: só as colunas da empresa, sem entidade gerenciada nem flush antes da consulta
+    String VIEW = "SELECT new br.com.accenture.consulta.repository.EmpresaView(e.id, e.cnpj, e.nomeFantasia, e.cep, e.version) ";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(VIEW + "FROM Empresa e WHERE e.cnpj = :cnpj")
+    Optional<EmpresaView> findViewByCnpj(@Param("cnpj") String cnpj);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(value = VIEW + "FROM Empresa e", countQuery = "SELECT COUNT(e) FROM Empresa e")
+    Page<EmpresaView> findAllViews(Pageable pageable);
+
+    // Versões para o ETag, sem carregar a empresa nem os fornecedores
+    @Query("SELECT new br.com.accenture.consulta.repository.EntityVersion(e.id, e.version) FROM Empresa e WHERE e.cnpj = :cnpj")
+    Optional<EntityVersion> findVersionByCnpj(@Param("cnpj") String cnpj);
+
+    @Query("SELECT new br.com.accenture.consulta.repository.EntityVersion(e.id, e.version, COALESCE(SUM(f.version), 0)) " +
+            "FROM Empresa e LEFT JOIN e.fornecedores f WHERE e.cnpj = :cnpj GROUP BY e.id, e.version")
+    Optional<EntityVersion> findVersionWithFornecedoresByCnpj(@Param("cnpj") String cnpj);
+
+    // Substring sobre o nome fantasia normalizado (índice GIN trigram), ordenado pela similaridade com o termo
+    String BUSCA_NOME = "FROM Empresa e WHERE e.nomeFantasiaBusca LIKE :padrao ESCAPE '\\'";
+    String BUSCA_NOME_ORDEM = " ORDER BY function('similarity', e.nomeFantasiaBusca, :termo) DESC, e.nomeFantasia ASC, e.id ASC";
+
+    @Query("SELECT e " + BUSCA_NOME + BUSCA_NOME_ORDEM)
+    List<Empresa> findByNomeFantasia(@Param("termo") String termo, @Param("padrao") String padrao, Pageable limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(VIEW + BUSCA_NOME + BUSCA_NOME_ORDEM)
+    List<EmpresaView> findViewsByNomeFantasia(@Param("termo") String termo, @Param("padrao") String padrao, Pageable limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(value = VIEW + BUSCA_NOME + BUSCA_NOME_ORDEM, countQuery = "SELECT COUNT(e) " + BUSCA_NOME)
+    Page<EmpresaView> searchByNomeFantasia(@Param("termo") String termo, @Param("padrao") String padrao, Pageable pageable);
+
+    // Paginação por keyset em (nomeFantasia, id), com nomes nulos no fim; o Pageable só limita o tamanho.
+    // A continuação é uma comparação de tupla pura, que o índice (nome_fantasia, id) resolve como range seek
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(VIEW + "FROM Empresa e ORDER BY e.nomeFantasia ASC NULLS LAST, e.id ASC")
+    List<EmpresaView> findFirstByNomeFantasia(Pageable limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(VIEW + "FROM Empresa e WHERE (e.nomeFantasia, e.id) > (:nomeFantasia, :id) ORDER BY e.nomeFantasia ASC, e.id ASC")
+    List<EmpresaView> findAfterNomeFantasia(@Param("nomeFantasia") String nomeFantasia, @Param("id") String id, Pageable limit);
+
+    // Início da fase de nomes nulos, quando as chaves não nulas acabam no meio de uma fatia
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(VIEW + "FROM Empresa e WHERE e.nomeFantasia IS NULL ORDER BY e.id ASC")
+    List<EmpresaView> findFirstNullNomeFantasia(Pageable limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(VIEW + "FROM Empresa e WHERE e.nomeFantasia IS NULL AND e.id > :id ORDER BY e.id ASC")
+    List<EmpresaView> findAfterNullNomeFantasia(@Param("id") String id, Pageable limit);
+
+    // Projeção escalar: não carrega a coleção de fornecedores de cada empresa
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new br.com.accenture.consulta.repository.EmpresaResumo(e.id, e.cnpj, e.nomeFantasia, e.cep) FROM Empresa e")
+    Stream<EmpresaResumo> streamAllResumos();
+
+    // Carrega de uma vez os fornecedores de várias empresas (evita uma consulta por coleção)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query("SELECT new br.com.accenture.consulta.repository.FornecedorLink(e.id, " +
+            "f.id, f.cpfCnpj, f.nome, f.email, f.cep, f.rg, f.dataNascimento, f.version) " +
+            "FROM Empresa e JOIN e.fornecedores f WHERE e.id IN :ids")
+    List<FornecedorLink> findFornecedorLinks(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT new br.com.accenture.consulta.repository.FornecedorCount(e.id, COUNT(f)) " +
+            "FROM Empresa e JOIN e.fornecedores f WHERE e.id IN :ids GROUP BY e.id")
+    List<FornecedorCount> countFornecedores(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT e.cnpj FROM Empresa e JOIN e.fornecedores f WHERE f.id = :fornecedorId")
+    List<String> findCnpjsByFornecedorId(@Param("fornecedorId") String fornecedorId);
+
+    @Query("SELECT DISTINCT e.cnpj FROM Empresa e JOIN e.fornecedores f WHERE f.id IN :fornecedorIds")
+    List<String> findCnpjsByFornecedorIds(@Param("fornecedorIds") Collection<String> fornecedorIds);
+
+    @Modifying
+    @Query(value = "UPDATE empresa_tb SET version = COALESCE(version, 0) + 1 WHERE id IN " +
+            "(SELECT empresa_id FROM empresa_fornecedor WHERE fornecedor_id IN (:fornecedorIds))", nativeQuery = true)
+    int incrementVersionByFornecedorIds(@Param("fornecedorIds") Collection<String> fornecedorIds);
+
+    // Consultas das estatísticas, direto na tabela de junção (cobertas pela chave primária e pelo índice reverso)
+    @Query(value = "SELECT fornecedor_id FROM empresa_fornecedor WHERE empresa_id = :empresaId", nativeQuery = true)
+    List<String> findFornecedorIdsByEmpresaId(@Param("empresaId") String empresaId);
+
+    @Query(value = "SELECT empresa_id AS id, COUNT(*) AS total FROM empresa_fornecedor " +
+            "WHERE fornecedor_id IN (:fornecedorIds) GROUP BY empresa_id", nativeQuery = true)
+    List<VinculoCount> countVinculosPorEmpresa(@Param("fornecedorIds") Collection<String> fornecedorIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT empresa_id AS id, COUNT(*) AS total FROM empresa_fornecedor GROUP BY empresa_id", nativeQuery = true)
+    Stream<VinculoCount> streamVinculosPorEmpresa();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT fornecedor_id AS id, COUNT(*) AS total FROM empresa_fornecedor GROUP BY fornecedor_id", nativeQuery = true)
+    Stream<VinculoCount> streamVinculosPorFornecedor();
+
+    // Filtram o pedido de vincular/desvincular para só o que de fato muda
+    @Query(value = "SELECT f.id FROM fornecedor_tb f WHERE f.id IN (:fornecedorIds) " +
+            "AND NOT EXISTS (SELECT 1 FROM empresa_fornecedor ef WHERE ef.empresa_id = :empresaId AND ef.fornecedor_id = f.id)",
+            nativeQuery = true)
+    List<String> findFornecedorIdsNaoVinculados(@Param("empresaId") String empresaId,
+                                                @Param("fornecedorIds") Collection<String> fornecedorIds);
+
+    @Query(value = "SELECT fornecedor_id FROM empresa_fornecedor WHERE empresa_id = :empresaId AND fornecedor_id IN (:fornecedorIds)",
+            nativeQuery = true)
+    List<String> findFornecedorIdsVinculados(@Param("empresaId") String empresaId,
+                                             @Param("fornecedorIds") Collection<String> fornecedorIds);
+
+    @Query("SELECT e.id FROM Empresa e WHERE e.cnpj = :cnpj")
+    Optional<String> findIdByCnpj(@Param("cnpj") String cnpj);
+
+    @Query("SELECT e.cnpj FROM Empresa e WHERE e.id = :id")
+    Optional<String> findCnpjById(@Param("id") String id);
+
+    // Vínculos alterados direto na tabela de junção: só as linhas do delta são tocadas, sem regravar a coleção
+    @Modifying
+    @Query(value = "INSERT INTO empresa_fornecedor (empresa_id, fornecedor_id) " +
+            "SELECT :empresaId, f.id FROM fornecedor_tb f WHERE f.id IN (:fornecedorIds) " +
+            "AND NOT EXISTS (SELECT 1 FROM empresa_fornecedor ef WHERE ef.empresa_id = :empresaId AND ef.fornecedor_id = f.id) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertFornecedorLinks(@Param("empresaId") String empresaId, @Param("fornecedorIds") Collection<String> fornecedorIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM empresa_fornecedor WHERE empresa_id = :empresaId AND fornecedor_id IN (:fornecedorIds)",
+            nativeQuery = true)
+    int deleteFornecedorLinks(@Param("empresaId") String empresaId, @Param("fornecedorIds") Collection<String> fornecedorIds);
+
+    // As escritas na junção não passam pelo Hibernate, então a versão (ETag, lock otimista) é incrementada à mão
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Empresa e SET e.version = COALESCE(e.version, 0) + 1 WHERE e.id = :id")
+    int incrementVersion(@Param("id") String id);
+
+    @Query("SELECT e.cnpj FROM Empresa e WHERE e.cnpj IN :cnpjs")
+    List<String> findExistingCnpjs(@Param("cnpjs") Collection<String> cnpjs);
 }
@@ -0,0 +1,4 @@
+package br.com.accenture.consulta.repository;
+
+public record EmpresaResumo(String id, String cnpj, String nomeFantasia, String cep) {
+}
@@ -0,0 +1,62 @@
+package br.com.accenture.consulta.repository;
+
+import br.com.accenture.consulta.application.cep.CepFiltros;
+import br.com.accenture.consulta.application.empresa.EmpresaFiltro;
+import br.com.accenture.consulta.application.paginacao.CursorToken;
+import br.com.accenture.consulta.domain.busca.NomeBusca;
+import br.com.accenture.consulta.domain.entities.Empresa;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros das consultas dinâmicas de empresa.
+ */
+public final class EmpresaSpecifications {
+
+    private EmpresaSpecifications() {
+    }
+
+    public static Specification<Empresa> filtradoPor(EmpresaFiltro filtro) {
+        return Specification.allOf(
+                doUf(filtro.uf()),
+                cepComecaCom(filtro.cepPrefixo()),
+                nomeFantasiaComecaCom(filtro.nomePrefixo()));
+    }
+
+    public static Specification<Empresa> buscaPorNomeFantasia(String termo) {
+        return LeituraSpecifications.porSimilaridade("nomeFantasiaBusca", "nomeFantasia", termo);
+    }
+
+    public static Specification<Empresa> porNomeFantasiaApos(CursorToken after) {
+        return LeituraSpecifications.porChaveApos("nomeFantasia", after);
+    }
+
+    public static Specification<Empresa> semNomeFantasia() {
+        return LeituraSpecifications.comChaveNula("nomeFantasia");
+    }
+
+    public static Specification<Empresa> doUf(String uf) {
+        if (uf == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("uf"), uf);
+    }
+
+    // Prefixo só de dígitos; casa o CEP gravado com ou sem hífen
+    public static Specification<Empresa> cepComecaCom(String digitos) {
+        if (digitos == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(CepFiltros.prefixPatterns(digitos).stream()
+                .map(padrao -> cb.like(root.get("cep"), padrao))
+                .toArray(Predicate[]::new));
+    }
+
+    public static Specification<Empresa> nomeFantasiaComecaCom(String prefixo) {
+        String termo = NomeBusca.normalize(prefixo);
+        if (termo == null || termo.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.like(root.get("nomeFantasiaBusca"), NomeBusca.prefixPattern(termo), '\\');
+    }
+}
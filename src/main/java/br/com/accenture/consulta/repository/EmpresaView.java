@@ -0,0 +1,5 @@
+package br.com.accenture.consulta.repository;
+
+// Colunas da empresa lidas nas consultas da API, sem hidratar a entidade
+public record EmpresaView(String id, String cnpj, String nomeFantasia, String cep, Long version) {
+}
@@ -0,0 +1,11 @@
+package br.com.accenture.consulta.repository;
+
+/**
+ * Só o necessário para montar o ETag; {@code fornecedorVersions} é nulo quando não se aplica.
+ */
+public record EntityVersion(String id, Long version, Long fornecedorVersions) {
+
+    public EntityVersion(String id, Long version) {
+        this(id, version, null);
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.accenture.consulta.repository;
+
+public record FornecedorCount(String empresaId, long total) {
+}
@@ -0,0 +1,7 @@
+package br.com.accenture.consulta.repository;
+
+public interface FornecedorKeys {
+    String getCpfCnpj();
+    String getEmail();
+    String getRg();
+}
@@ -0,0 +1,14 @@
+package br.com.accenture.consulta.repository;
+
+import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
+
+import java.time.LocalDate;
+
+public record FornecedorLink(String empresaId, FornecedorDto fornecedor) {
+
+    // Usado pela expressão construtora do JPQL, que só recebe colunas
+    public FornecedorLink(String empresaId, String id, String cpfCnpj, String nome, String email, String cep,
+                          String rg, LocalDate dataNascimento, Long version) {
+        this(empresaId, new FornecedorDto(id, cpfCnpj, nome, email, cep, rg, dataNascimento, version));
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.accenture.consulta.repository;
+
+// Chaves naturais usadas no cache de consultas, mais o CEP para as estatísticas por UF
+public interface FornecedorLookupKeys {
+    String getId();
+    String getCpfCnpj();
+    String getEmail();
+    String getCep();
+}
@@ -0,0 +1,4 @@
+package br.com.accenture.consulta.repository;
+
+public record FornecedorNome(String id, String cpfCnpj, String nome) {
+}
@@ -0,0 +1,4 @@
+package br.com.accenture.consulta.repository;
+
+public record FornecedorPerfil(String cpfCnpj, String cep) {
+}
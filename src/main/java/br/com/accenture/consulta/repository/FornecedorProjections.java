@@ -0,0 +1,23 @@
+package br.com.accenture.consulta.repository;
+
+import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+// Consultas dinâmicas de leitura que devolvem o DTO direto do SELECT
+public interface FornecedorProjections {
+
+    Page<FornecedorDto> findDtos(Specification<Fornecedor> spec, Pageable pageable);
+
+    List<FornecedorDto> findDtos(Specification<Fornecedor> spec, int limit);
+
+    // Só os atributos pedidos (fields=), um mapa por linha na ordem de atributos
+    Page<Map<String, Object>> findMaps(Specification<Fornecedor> spec, List<String> atributos, Pageable pageable);
+
+    List<Map<String, Object>> findMaps(Specification<Fornecedor> spec, List<String> atributos, int limit);
+}
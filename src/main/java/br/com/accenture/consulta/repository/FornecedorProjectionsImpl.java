@@ -0,0 +1,46 @@
+package br.com.accenture.consulta.repository;
+
+import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+class FornecedorProjectionsImpl implements FornecedorProjections {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Page<FornecedorDto> findDtos(Specification<Fornecedor> spec, Pageable pageable) {
+        return ProjectionQueries.page(em, Fornecedor.class, FornecedorDto.class, FornecedorProjectionsImpl::columns, spec, pageable);
+    }
+
+    @Override
+    public List<FornecedorDto> findDtos(Specification<Fornecedor> spec, int limit) {
+        return ProjectionQueries.list(em, Fornecedor.class, FornecedorDto.class, FornecedorProjectionsImpl::columns, spec, limit);
+    }
+
+    @Override
+    public Page<Map<String, Object>> findMaps(Specification<Fornecedor> spec, List<String> atributos, Pageable pageable) {
+        return ProjectionQueries.pageMaps(em, Fornecedor.class, atributos, spec, pageable);
+    }
+
+    @Override
+    public List<Map<String, Object>> findMaps(Specification<Fornecedor> spec, List<String> atributos, int limit) {
+        return ProjectionQueries.listMaps(em, Fornecedor.class, atributos, spec, limit);
+    }
+
+    // Mesma ordem do construtor de FornecedorDto
+    private static Selection<?>[] columns(Root<Fornecedor> f) {
+        return new Selection<?>[]{f.get("id"), f.get("cpfCnpj"), f.get("nome"), f.get("email"), f.get("cep"),
+                f.get("rg"), f.get("dataNascimento"), f.get("version")};
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.accenture.consulta.repository;
+
+public interface FornecedorRef {
+    String getId();
+    String getCpfCnpj();
+}
@@ -1,20 +1,164 @@
 package br.com.accenture.consulta.repository;
 
+import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
 import br.com.accenture.consulta.domain.entities.Fornecedor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface FornecedorRepository extends JpaRepository<Fornecedor, String>, JpaSpecificationExecutor<Fornecedor> {
+public interface FornecedorRepository extends JpaRepository<Fornecedor, String>, JpaSpecificationExecutor<Fornecedor>,
+        FornecedorProjections {
     Optional<Fornecedor> findById(String id);
     Optional<Fornecedor> findByEmail(String email);
     Optional<Fornecedor> findByCpfCnpj(String cpfCnpj);
-    @Query("SELECT f FROM Fornecedor f WHERE LOWER(f.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
-    List<Fornecedor> findByNome(@Param("nome") String nome);
+
+    // Leituras da API: o DTO sai montado do SELECT, sem entidade gerenciada nem flush antes da consulta
+    String DTO = "SELECT new br.com.accenture.consulta.application.fornecedor.FornecedorDto(" +
+            "f.id, f.cpfCnpj, f.nome, f.email, f.cep, f.rg, f.dataNascimento, f.version) ";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(DTO + "FROM Fornecedor f WHERE f.cpfCnpj = :cpfCnpj")
+    Optional<FornecedorDto> findDtoByCpfCnpj(@Param("cpfCnpj") String cpfCnpj);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(DTO + "FROM Fornecedor f WHERE f.email = :email")
+    Optional<FornecedorDto> findDtoByEmail(@Param("email") String email);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(value = DTO + "FROM Fornecedor f", countQuery = "SELECT COUNT(f) FROM Fornecedor f")
+    Page<FornecedorDto> findAllDtos(Pageable pageable);
+
+    // Substring sobre o nome normalizado (índice GIN trigram), ordenado pela similaridade com o termo
+    String BUSCA_NOME = "FROM Fornecedor f WHERE f.nomeBusca LIKE :padrao ESCAPE '\\'";
+    String BUSCA_NOME_ORDEM = " ORDER BY function('similarity', f.nomeBusca, :termo) DESC, f.nome ASC, f.id ASC";
+
+    @Query("SELECT f " + BUSCA_NOME + BUSCA_NOME_ORDEM)
+    List<Fornecedor> findByNome(@Param("termo") String termo, @Param("padrao") String padrao, Pageable limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(DTO + BUSCA_NOME + BUSCA_NOME_ORDEM)
+    List<FornecedorDto> findDtosByNome(@Param("termo") String termo, @Param("padrao") String padrao, Pageable limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(value = DTO + BUSCA_NOME + BUSCA_NOME_ORDEM, countQuery = "SELECT COUNT(f) " + BUSCA_NOME)
+    Page<FornecedorDto> searchByNome(@Param("termo") String termo, @Param("padrao") String padrao, Pageable pageable);
 
     Optional<Fornecedor> findByRg(String rg);
+
+    // Versões para o ETag, sem carregar a entidade
+    @Query("SELECT new br.com.accenture.consulta.repository.EntityVersion(f.id, f.version) FROM Fornecedor f WHERE f.cpfCnpj = :cpfCnpj")
+    Optional<EntityVersion> findVersionByCpfCnpj(@Param("cpfCnpj") String cpfCnpj);
+
+    @Query("SELECT new br.com.accenture.consulta.repository.EntityVersion(f.id, f.version) FROM Fornecedor f WHERE f.email = :email")
+    Optional<EntityVersion> findVersionByEmail(@Param("email") String email);
+
+    // Uma única consulta informa quais das chaves únicas já estão em uso
+    @Query("SELECT MAX(CASE WHEN f.cpfCnpj = :cpfCnpj THEN 1 ELSE 0 END) AS cpfCnpj, " +
+            "MAX(CASE WHEN f.email = :email THEN 1 ELSE 0 END) AS email, " +
+            "MAX(CASE WHEN f.rg = :rg THEN 1 ELSE 0 END) AS rg " +
+            "FROM Fornecedor f WHERE f.cpfCnpj = :cpfCnpj OR f.email = :email OR f.rg = :rg")
+    UniqueKeyConflicts findUniqueKeyConflicts(@Param("cpfCnpj") String cpfCnpj,
+                                              @Param("email") String email,
+                                              @Param("rg") String rg);
+
+    @Query("SELECT f.cpfCnpj AS cpfCnpj, f.email AS email, f.rg AS rg FROM Fornecedor f " +
+            "WHERE f.cpfCnpj IN :cpfCnpjs OR f.email IN :emails OR f.rg IN :rgs")
+    List<FornecedorKeys> findExistingKeys(@Param("cpfCnpjs") Collection<String> cpfCnpjs,
+                                          @Param("emails") Collection<String> emails,
+                                          @Param("rgs") Collection<String> rgs);
+
+    // Paginação por keyset em (nome, id), com nomes nulos no fim; o Pageable só limita o tamanho.
+    // A continuação é uma comparação de tupla pura, que o índice (nome, id) resolve como range seek
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(DTO + "FROM Fornecedor f ORDER BY f.nome ASC NULLS LAST, f.id ASC")
+    List<FornecedorDto> findFirstByNome(Pageable limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(DTO + "FROM Fornecedor f WHERE (f.nome, f.id) > (:nome, :id) ORDER BY f.nome ASC, f.id ASC")
+    List<FornecedorDto> findAfterNome(@Param("nome") String nome, @Param("id") String id, Pageable limit);
+
+    // Início da fase de nomes nulos, quando as chaves não nulas acabam no meio de uma fatia
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(DTO + "FROM Fornecedor f WHERE f.nome IS NULL ORDER BY f.id ASC")
+    List<FornecedorDto> findFirstNullNome(Pageable limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    @Query(DTO + "FROM Fornecedor f WHERE f.nome IS NULL AND f.id > :id ORDER BY f.id ASC")
+    List<FornecedorDto> findAfterNullNome(@Param("id") String id, Pageable limit);
+
+    // Cursor somente-leitura: deve ser consumido dentro de uma transação, desanexando as entidades
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM Fornecedor f")
+    Stream<Fornecedor> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new br.com.accenture.consulta.repository.FornecedorNome(f.id, f.cpfCnpj, f.nome) FROM Fornecedor f")
+    Stream<FornecedorNome> streamAllNomes();
+
+    @Query("SELECT f.id AS id, f.cpfCnpj AS cpfCnpj, f.email AS email, f.cep AS cep FROM Fornecedor f WHERE f.id IN :ids")
+    List<FornecedorLookupKeys> findLookupKeysByIdIn(@Param("ids") Collection<String> ids);
+
+    // Exclusão em lote: os vínculos saem num único DELETE pelo índice reverso, sem carregar as empresas
+    @Modifying
+    @Query(value = "DELETE FROM empresa_fornecedor WHERE fornecedor_id IN (:ids)", nativeQuery = true)
+    int deleteEmpresaLinks(@Param("ids") Collection<String> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Fornecedor f WHERE f.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<String> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new br.com.accenture.consulta.repository.FornecedorPerfil(f.cpfCnpj, f.cep) FROM Fornecedor f")
+    Stream<FornecedorPerfil> streamAllPerfis();
+
+    @Query("SELECT f.id AS id, f.cpfCnpj AS cpfCnpj FROM Fornecedor f WHERE f.cpfCnpj IN :cpfCnpjs")
+    List<FornecedorRef> findRefsByCpfCnpjIn(@Param("cpfCnpjs") Collection<String> cpfCnpjs);
 }
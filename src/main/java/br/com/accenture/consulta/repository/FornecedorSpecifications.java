@@ -0,0 +1,118 @@
+package br.com.accenture.consulta.repository;
+
+import br.com.accenture.consulta.application.cep.CepFiltros;
+import br.com.accenture.consulta.application.fornecedor.FornecedorFiltro;
+import br.com.accenture.consulta.application.fornecedor.FornecedorOrdenacao;
+import br.com.accenture.consulta.application.fornecedor.TipoPessoa;
+import br.com.accenture.consulta.application.paginacao.CursorToken;
+import br.com.accenture.consulta.domain.busca.NomeBusca;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filtros e ordenação por keyset das consultas dinâmicas de fornecedor.
+ */
+public final class FornecedorSpecifications {
+
+    private FornecedorSpecifications() {
+    }
+
+    // Percorre empresa_fornecedor pela chave (empresa_id, fornecedor_id), sem tocar a coleção da empresa
+    public static Specification<Fornecedor> vinculadoA(String empresaId) {
+        return (root, query, cb) -> cb.equal(root.join("empresas").get("id"), empresaId);
+    }
+
+    public static Specification<Fornecedor> nomeComecaCom(String prefixo) {
+        String termo = NomeBusca.normalize(prefixo);
+        if (termo == null || termo.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.like(root.get("nomeBusca"), NomeBusca.prefixPattern(termo), '\\');
+    }
+
+    public static Specification<Fornecedor> doTipo(TipoPessoa tipo) {
+        if (tipo == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(cb.length(root.get("cpfCnpj")), tipo.tamanhoDocumento());
+    }
+
+    public static Specification<Fornecedor> filtradoPor(FornecedorFiltro filtro) {
+        return Specification.allOf(
+                doUf(filtro.uf()),
+                doTipo(filtro.tipo()),
+                nascidoEntre(filtro.nascimentoDe(), filtro.nascimentoAte()),
+                cepComecaCom(filtro.cepPrefixo()),
+                nomeComecaCom(filtro.nomePrefixo()));
+    }
+
+    public static Specification<Fornecedor> doUf(String uf) {
+        if (uf == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("uf"), uf);
+    }
+
+    public static Specification<Fornecedor> nascidoEntre(LocalDate de, LocalDate ate) {
+        if (de == null && ate == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Expression<LocalDate> dataNascimento = root.get("dataNascimento");
+            if (de == null) {
+                return cb.lessThanOrEqualTo(dataNascimento, ate);
+            }
+            return ate == null
+                    ? cb.greaterThanOrEqualTo(dataNascimento, de)
+                    : cb.between(dataNascimento, de, ate);
+        };
+    }
+
+    // Prefixo só de dígitos; casa o CEP gravado com ou sem hífen
+    public static Specification<Fornecedor> cepComecaCom(String digitos) {
+        if (digitos == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(CepFiltros.prefixPatterns(digitos).stream()
+                .map(padrao -> cb.like(root.get("cep"), padrao))
+                .toArray(Predicate[]::new));
+    }
+
+    public static Specification<Fornecedor> buscaPorNome(String termo) {
+        return LeituraSpecifications.porSimilaridade("nomeBusca", "nome", termo);
+    }
+
+    public static Specification<Fornecedor> porNomeApos(CursorToken after) {
+        return LeituraSpecifications.porChaveApos("nome", after);
+    }
+
+    public static Specification<Fornecedor> semNome() {
+        return LeituraSpecifications.comChaveNula("nome");
+    }
+
+    /**
+     * Ordena por (chave, id) e, com cursor, devolve só o que vem depois dele na mesma ordem.
+     * A chave nula vira texto vazio para que a comparação de tupla funcione igual nos dois sentidos.
+     */
+    public static Specification<Fornecedor> ordenadoApos(FornecedorOrdenacao ordenacao, CursorToken after) {
+        return (root, query, cb) -> {
+            Expression<String> chave = cb.coalesce(root.get(ordenacao.campo().atributo()), "");
+            Expression<String> id = root.get("id");
+            query.orderBy(ordenacao.desc()
+                    ? List.of(cb.desc(chave), cb.desc(id))
+                    : List.of(cb.asc(chave), cb.asc(id)));
+            if (after == null) {
+                return null;
+            }
+            String chaveCursor = after.sortKey() == null ? "" : after.sortKey();
+            return ordenacao.desc()
+                    ? cb.or(cb.lessThan(chave, chaveCursor), cb.and(cb.equal(chave, chaveCursor), cb.lessThan(id, after.id())))
+                    : cb.or(cb.greaterThan(chave, chaveCursor), cb.and(cb.equal(chave, chaveCursor), cb.greaterThan(id, after.id())));
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.accenture.consulta.repository;
+
+import br.com.accenture.consulta.application.paginacao.CursorToken;
+import br.com.accenture.consulta.domain.busca.NomeBusca;
+import jakarta.persistence.criteria.Expression;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Versões em Criteria das consultas de leitura fixas (busca por similaridade e keyset por nome),
+ * para quando a lista de colunas é montada na hora a partir de fields=.
+ */
+final class LeituraSpecifications {
+
+    private LeituraSpecifications() {
+    }
+
+    // Mesmo filtro e ordem das consultas BUSCA_NOME dos repositórios
+    static <T> Specification<T> porSimilaridade(String atributoBusca, String atributoNome, String termo) {
+        return (root, query, cb) -> {
+            Expression<String> busca = root.get(atributoBusca);
+            query.orderBy(List.of(
+                    cb.desc(cb.function("similarity", Double.class, busca, cb.literal(termo))),
+                    cb.asc(root.get(atributoNome)),
+                    cb.asc(root.get("id"))));
+            return cb.like(busca, NomeBusca.likePattern(termo), '\\');
+        };
+    }
+
+    // Mesma ordem (chave ASC NULLS LAST, id) e continuação das consultas findFirstBy/findAfter dos repositórios.
+    // Depois de uma chave não nula só vêm chaves não nulas; os nulos ficam para comChaveNula
+    static <T> Specification<T> porChaveApos(String atributo, CursorToken after) {
+        return (root, query, cb) -> {
+            Expression<String> chave = root.get(atributo);
+            Expression<String> id = root.get("id");
+            query.orderBy(List.of(((HibernateCriteriaBuilder) cb).asc(chave, false), cb.asc(id)));
+            if (after == null) {
+                return null;
+            }
+            if (after.sortKey() == null) {
+                return cb.and(cb.isNull(chave), cb.greaterThan(id, after.id()));
+            }
+            // (chave, id) > (k, id) escrito com a chave isolada na frente, para o banco usar o índice como range
+            return cb.and(
+                    cb.greaterThanOrEqualTo(chave, after.sortKey()),
+                    cb.or(cb.greaterThan(chave, after.sortKey()), cb.greaterThan(id, after.id())));
+        };
+    }
+
+    // Início da fase de chaves nulas, como as consultas findFirstNull* dos repositórios
+    static <T> Specification<T> comChaveNula(String atributo) {
+        return (root, query, cb) -> {
+            query.orderBy(List.of(cb.asc(root.get("id"))));
+            return cb.isNull(root.get(atributo));
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.accenture.consulta.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Specification executada direto numa projeção: o SELECT traz só as colunas do construtor
+ * (ou só os atributos pedidos, devolvidos como mapa), sem entidades no contexto de persistência
+ * nem flush automático antes da consulta.
+ */
+final class ProjectionQueries {
+
+    private ProjectionQueries() {
+    }
+
+    static <T, R> Page<R> page(EntityManager em, Class<T> entity, Class<R> projection,
+                               Function<Root<T>, Selection<?>[]> columns, Specification<T> spec, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(projection);
+        Root<T> root = query.from(entity);
+        query.select(cb.construct(projection, columns.apply(root)));
+        return page(em, entity, query, root, spec, pageable, Function.identity());
+    }
+
+    static <T> Page<Map<String, Object>> pageMaps(EntityManager em, Class<T> entity, List<String> atributos,
+                                                  Specification<T> spec, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entity);
+        query.select(cb.tuple(selections(root, atributos)));
+        return page(em, entity, query, root, spec, pageable, tuple -> toMap(tuple, atributos, 0));
+    }
+
+    // A própria Specification pode definir a ordem (keyset); o limite vem de fora
+    static <T, R> List<R> list(EntityManager em, Class<T> entity, Class<R> projection,
+                               Function<Root<T>, Selection<?>[]> columns, Specification<T> spec, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(projection);
+        Root<T> root = query.from(entity);
+        query.select(cb.construct(projection, columns.apply(root)));
+        where(query, root, cb, spec);
+        return readOnly(em.createQuery(query)).setMaxResults(limit).getResultList();
+    }
+
+    static <T> List<Map<String, Object>> listMaps(EntityManager em, Class<T> entity, List<String> atributos,
+                                                  Specification<T> spec, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entity);
+        query.select(cb.tuple(selections(root, atributos)));
+        where(query, root, cb, spec);
+        List<Tuple> tuples = readOnly(em.createQuery(query)).setMaxResults(limit).getResultList();
+        List<Map<String, Object>> linhas = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            linhas.add(toMap(tuple, atributos, 0));
+        }
+        return linhas;
+    }
+
+    static Selection<?>[] selections(From<?, ?> from, List<String> atributos) {
+        Selection<?>[] selections = new Selection<?>[atributos.size()];
+        for (int i = 0; i < selections.length; i++) {
+            selections[i] = from.get(atributos.get(i));
+        }
+        return selections;
+    }
+
+    // Lê os atributos a partir da posição offset da tupla, na ordem em que foram selecionados
+    static Map<String, Object> toMap(Tuple tuple, List<String> atributos, int offset) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        for (int i = 0; i < atributos.size(); i++) {
+            linha.put(atributos.get(i), tuple.get(offset + i));
+        }
+        return linha;
+    }
+
+    static <R> TypedQuery<R> readOnly(TypedQuery<R> query) {
+        return query.setFlushMode(FlushModeType.COMMIT)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private static <T, Q, R> Page<R> page(EntityManager em, Class<T> entity, CriteriaQuery<Q> query, Root<T> root,
+                                          Specification<T> spec, Pageable pageable, Function<Q, R> mapper) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        where(query, root, cb, spec);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        TypedQuery<Q> typed = readOnly(em.createQuery(query));
+        if (pageable.isUnpaged()) {
+            List<R> content = map(typed.getResultList(), mapper);
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        typed.setFirstResult((int) pageable.getOffset());
+        typed.setMaxResults(pageable.getPageSize());
+        List<R> content = map(typed.getResultList(), mapper);
+        // Página incompleta já informa o total, sem o count(*)
+        if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        return new PageImpl<>(content, pageable, count(em, entity, spec));
+    }
+
+    private static <Q, R> List<R> map(List<Q> rows, Function<Q, R> mapper) {
+        List<R> content = new ArrayList<>(rows.size());
+        for (Q row : rows) {
+            content.add(mapper.apply(row));
+        }
+        return content;
+    }
+
+    private static <T> long count(EntityManager em, Class<T> entity, Specification<T> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entity);
+        where(query, root, cb, spec);
+        query.orderBy(List.of());
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        return readOnly(em.createQuery(query)).getSingleResult();
+    }
+
+    private static <T> void where(CriteriaQuery<?> query, Root<T> root, CriteriaBuilder cb, Specification<T> spec) {
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
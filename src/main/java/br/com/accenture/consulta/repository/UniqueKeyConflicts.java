@@ -0,0 +1,19 @@
+package br.com.accenture.consulta.repository;
+
+public interface UniqueKeyConflicts {
+    Integer getCpfCnpj();
+    Integer getEmail();
+    Integer getRg();
+
+    default boolean cpfCnpjTaken() {
+        return getCpfCnpj() != null && getCpfCnpj() > 0;
+    }
+
+    default boolean emailTaken() {
+        return getEmail() != null && getEmail() > 0;
+    }
+
+    default boolean rgTaken() {
+        return getRg() != null && getRg() > 0;
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.accenture.consulta.repository;
+
+// Quantidade de vínculos em empresa_fornecedor agrupada por um dos lados (empresa ou fornecedor)
+public interface VinculoCount {
+    String getId();
+    long getTotal();
+}
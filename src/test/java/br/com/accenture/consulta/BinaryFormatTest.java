@@ -0,0 +1,58 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
+import br.com.accenture.consulta.config.BinaryFormatConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryFormatTest {
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper smile = BinaryFormatConfig.compactMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+    private final ObjectMapper cbor = BinaryFormatConfig.compactMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+
+    @Test
+    void shouldWriteCompactPage() throws Exception {
+        Page<FornecedorDto> page = page(100);
+
+        JsonNode tree = smile.readTree(smile.writeValueAsBytes(page));
+        assertEquals(100, tree.get("content").size());
+        assertEquals(1000, tree.get("page").get("totalElements").asLong());
+        assertEquals(10, tree.get("page").get("totalPages").asInt());
+        assertFalse(tree.has("pageable"));
+        JsonNode data = tree.get("content").get(0).get("dataNascimento");
+        assertTrue(data.isArray());
+        assertEquals(1980, data.get(0).asInt());
+    }
+
+    @Test
+    void shouldBeSmallerThanJson() throws Exception {
+        Page<FornecedorDto> page = page(100);
+        int jsonSize = json.writeValueAsBytes(page).length;
+
+        assertTrue(smile.writeValueAsBytes(page).length < jsonSize / 2);
+        assertTrue(cbor.writeValueAsBytes(page).length < jsonSize);
+    }
+
+    private static Page<FornecedorDto> page(int size) {
+        List<FornecedorDto> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            content.add(new FornecedorDto("id-" + i, String.format("%011d", i), "Fornecedor " + i, "f" + i + "@x.com",
+                    "01001-000", "RG" + i, LocalDate.of(1980, 1, 1).plusDays(i), (long) i));
+        }
+        return new PageImpl<>(content, PageRequest.of(0, size), 1000);
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.campos.Campos;
+import br.com.accenture.consulta.application.empresa.EmpresaDto;
+import br.com.accenture.consulta.application.empresa.FetchPlan;
+import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
+import br.com.accenture.consulta.domain.exception.InvalidRequestParameterException;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CamposTest {
+
+    @Test
+    void shouldKeepDeclarationOrderAndAddRequiredColumns() {
+        Campos campos = Campos.fornecedor(" email , nome,email");
+        assertEquals(List.of("nome", "email"), campos.nomes());
+        assertEquals(List.of("id", "nome", "email"), campos.colunas(List.of("id", "nome")));
+        assertNull(Campos.fornecedor("  "));
+    }
+
+    @Test
+    void shouldRejectUnknownField() {
+        assertThrows(InvalidRequestParameterException.class, () -> Campos.fornecedor("nome,senha"));
+        assertThrows(InvalidRequestParameterException.class, () -> Campos.empresa("fornecedorDtos.senha"));
+    }
+
+    @Test
+    void shouldLoadNestedFornecedoresOnlyWhenAsked() {
+        assertEquals(FetchPlan.NONE, Campos.empresa("cnpj").fetchPlan());
+        assertEquals(FetchPlan.COUNT, Campos.empresa("cnpj,totalFornecedores").fetchPlan());
+
+        Campos campos = Campos.empresa("cnpj,fornecedorDtos.nome");
+        assertEquals(FetchPlan.FORNECEDORES, campos.fetchPlan());
+        assertEquals(List.of("nome"), campos.fornecedores());
+        assertEquals(List.of("id", "cnpj"), campos.colunas(List.of("id")));
+    }
+
+    @Test
+    void shouldTrimCachedDto() {
+        FornecedorDto fornecedor = new FornecedorDto("f1", "52998224725", "Ana", "a@x.com", "01001-000", "1", null, 0L);
+        EmpresaDto empresa = new EmpresaDto("e1", "11444777000161", "Acme", "01001-000", List.of(fornecedor), null, 3L);
+
+        Map<String, Object> linha = Campos.empresa("nomeFantasia,totalFornecedores,fornecedorDtos.email").aplicar(empresa);
+        assertEquals(Map.of("nomeFantasia", "Acme", "totalFornecedores", 1L,
+                "fornecedorDtos", List.of(Map.of("email", "a@x.com"))), linha);
+        assertEquals(Map.of("nome", "Ana"), Campos.fornecedor("nome").aplicar(fornecedor));
+    }
+
+    @Test
+    void shouldRemoveInternalColumns() {
+        Map<String, Object> linha = new LinkedHashMap<>(Map.of("id", "f1", "nome", "Ana", "nomeBusca", "ana"));
+        assertEquals(Map.of("nome", "Ana"), Campos.fornecedor("nome").recortar(linha));
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.cep.CepFiltros;
+import br.com.accenture.consulta.domain.exception.InvalidRequestParameterException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CepFiltrosTest {
+
+    @Test
+    void shouldMatchCepPrefixWithAndWithoutHyphen() {
+        assertEquals("800101", CepFiltros.prefixo("80010-1"));
+        assertEquals(List.of("80010%"), CepFiltros.prefixPatterns("80010"));
+        assertEquals(List.of("800101%", "80010-1%"), CepFiltros.prefixPatterns("800101"));
+        assertNull(CepFiltros.prefixo(" "));
+        assertThrows(InvalidRequestParameterException.class, () -> CepFiltros.prefixo("8001a"));
+    }
+
+    @Test
+    void shouldNormalizeUf() {
+        assertEquals("SP", CepFiltros.uf(" sp "));
+        assertNull(CepFiltros.uf(null));
+        assertThrows(InvalidRequestParameterException.class, () -> CepFiltros.uf("São"));
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.cep.CepInfo;
+import br.com.accenture.consulta.application.cep.CepResolver;
+import br.com.accenture.consulta.application.cep.CircuitBreaker;
+import br.com.accenture.consulta.application.cep.ViaCepClient;
+import br.com.accenture.consulta.config.CepProperties;
+import br.com.accenture.consulta.domain.exception.CepServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CepResolverTest {
+
+    private ViaCepClient viaCepClient;
+    private CepResolver cepResolver;
+
+    @BeforeEach
+    void setUp() {
+        viaCepClient = mock(ViaCepClient.class);
+        when(viaCepClient.circuitState()).thenReturn(CircuitBreaker.State.CLOSED);
+        cepResolver = new CepResolver(viaCepClient, new CepProperties());
+    }
+
+    @Test
+    void shouldLookupCepOnlyOnceForRepeatedResolves() throws IOException {
+        when(viaCepClient.lookup("80000000")).thenReturn(CepInfo.of("PR"));
+
+        CepInfo first = cepResolver.resolve("80000-000");
+        CepInfo second = cepResolver.resolve("80000000");
+
+        assertTrue(first.valid());
+        assertEquals("PR", second.uf());
+        verify(viaCepClient, times(1)).lookup("80000000");
+        assertEquals(1L, cepResolver.stats().get("hits"));
+        assertEquals(1L, cepResolver.stats().get("misses"));
+    }
+
+    @Test
+    void shouldCacheNegativeAnswers() throws IOException {
+        when(viaCepClient.lookup("99999999")).thenReturn(CepInfo.invalid());
+
+        assertFalse(cepResolver.resolve("99999-999").valid());
+        assertFalse(cepResolver.resolve("99999-999").valid());
+
+        verify(viaCepClient, times(1)).lookup("99999999");
+    }
+
+    @Test
+    void shouldReportTransportFailuresAsUnavailableWithoutCaching() throws IOException {
+        when(viaCepClient.lookup("01001000")).thenThrow(new IOException("timeout"));
+
+        assertThrows(CepServiceUnavailableException.class, () -> cepResolver.resolve("01001-000"));
+        assertThrows(CepServiceUnavailableException.class, () -> cepResolver.resolve("01001-000"));
+
+        verify(viaCepClient, times(2)).lookup("01001000");
+    }
+
+    @Test
+    void shouldRejectInvalidFormatWithoutLookup() {
+        assertFalse(cepResolver.resolve("123").valid());
+        verifyNoInteractions(viaCepClient);
+    }
+
+    @Test
+    void shouldCoalesceConcurrentLookupsForSameCep() throws Exception {
+        int callers = 32;
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        when(viaCepClient.lookup("88000000")).thenAnswer(invocation -> {
+            upstreamCalls.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return CepInfo.of("SC");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch started = new CountDownLatch(callers);
+        List<Future<CepInfo>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> {
+                started.countDown();
+                return cepResolver.resolve("88000-000");
+            }));
+        }
+        started.await(5, TimeUnit.SECONDS);
+        // Dá tempo para todas as threads entrarem no single-flight antes de liberar a chamada
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<CepInfo> result : results) {
+            assertEquals("SC", result.get(5, TimeUnit.SECONDS).uf());
+        }
+        executor.shutdown();
+
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldPropagateSameErrorToCoalescedWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(viaCepClient.lookup("01001000")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new CepServiceUnavailableException("indisponível");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<CepInfo> first = executor.submit(() -> cepResolver.resolve("01001-000"));
+        Future<CepInfo> second = executor.submit(() -> cepResolver.resolve("01001-000"));
+        Thread.sleep(200);
+        release.countDown();
+
+        Exception firstError = assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        Exception secondError = assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertInstanceOf(CepServiceUnavailableException.class, firstError.getCause());
+        assertSame(firstError.getCause(), secondError.getCause());
+        verify(viaCepClient, times(1)).lookup("01001000");
+    }
+
+    @Test
+    void shouldCoalesceAsyncLookupsAndCacheResult() {
+        CompletableFuture<CepInfo> upstream = new CompletableFuture<>();
+        when(viaCepClient.lookupAsync("88000000")).thenReturn(upstream);
+
+        CompletableFuture<CepInfo> first = cepResolver.resolveAsync("88000-000");
+        CompletableFuture<CepInfo> second = cepResolver.resolveAsync("88000000");
+        assertFalse(first.isDone());
+
+        upstream.complete(CepInfo.of("SC"));
+
+        assertEquals("SC", first.join().uf());
+        assertEquals("SC", second.join().uf());
+        assertEquals("SC", cepResolver.resolveAsync("88000-000").join().uf());
+        verify(viaCepClient, times(1)).lookupAsync("88000000");
+        assertEquals(1L, cepResolver.stats().get("coalesced"));
+    }
+
+    @Test
+    void shouldReportAsyncTransportFailureAsUnavailableWithoutCaching() {
+        when(viaCepClient.lookupAsync("01001000"))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("timeout")));
+
+        CompletionException error = assertThrows(CompletionException.class, () -> cepResolver.resolveAsync("01001-000").join());
+        assertInstanceOf(CepServiceUnavailableException.class, error.getCause());
+        assertInstanceOf(IOException.class, error.getCause().getCause());
+        assertThrows(CompletionException.class, () -> cepResolver.resolveAsync("01001-000").join());
+
+        verify(viaCepClient, times(2)).lookupAsync("01001000");
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.domain.cep.CepUfTable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CepUfTableTest {
+
+    @Test
+    void shouldResolveUfFromCepRanges() {
+        assertEquals("SP", CepUfTable.ufOf("01001-000"));
+        assertEquals("PR", CepUfTable.ufOf("80000-000"));
+        assertEquals("PR", CepUfTable.ufOf("87999999"));
+        assertEquals("SC", CepUfTable.ufOf("88000-000"));
+        assertEquals("RS", CepUfTable.ufOf("99999-999"));
+        assertEquals("AM", CepUfTable.ufOf("69400-000"));
+        assertEquals("RR", CepUfTable.ufOf("69301-000"));
+        assertEquals("DF", CepUfTable.ufOf("73000-000"));
+        assertEquals("GO", CepUfTable.ufOf("72800-000"));
+    }
+
+    @Test
+    void shouldReturnNullOutsideKnownRangesOrWithInvalidFormat() {
+        assertNull(CepUfTable.ufOf("00999-999"));
+        assertNull(CepUfTable.ufOf("8000-0000"));
+        assertNull(CepUfTable.ufOf("80000-00"));
+        assertNull(CepUfTable.ufOf((String) null));
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.importacao.CsvLineParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvLineParserTest {
+
+    private final CsvLineParser parser = new CsvLineParser("cpfCnpj, nome ,email");
+
+    @Test
+    void shouldMapValuesByHeaderName() {
+        assertEquals(Map.of("cpfCnpj", "52998224725", "nome", "Ana", "email", "ana@x.com"),
+                parser.parse("52998224725, Ana ,ana@x.com"));
+    }
+
+    @Test
+    void shouldKeepSeparatorsAndEscapedQuotesInsideQuotedField() {
+        Map<String, String> row = parser.parse("52998224725,\"Silva, \"\"Ana\"\"\",ana@x.com");
+        assertEquals("Silva, \"Ana\"", row.get("nome"));
+        assertEquals("ana@x.com", row.get("email"));
+    }
+
+    @Test
+    void shouldReadEmptyAndMissingFieldsAsNull() {
+        Map<String, String> expected = new HashMap<>();
+        expected.put("cpfCnpj", "52998224725");
+        expected.put("nome", null);
+        expected.put("email", null);
+        assertEquals(expected, parser.parse("52998224725,\"\""));
+        assertEquals(expected, parser.parse("52998224725,  ,"));
+    }
+
+    @Test
+    void shouldRejectUnclosedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("52998224725,\"Ana,ana@x.com"));
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.paginacao.CursorToken;
+import br.com.accenture.consulta.domain.exception.InvalidRequestParameterException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorTokenTest {
+
+    @Test
+    void shouldRoundTripCursor() {
+        CursorToken token = new CursorToken("Silva, Ana", "3f0c6c1e-id");
+        assertEquals(token, CursorToken.decode(token.encode()));
+
+        CursorToken semNome = new CursorToken(null, "3f0c6c1e-id");
+        assertEquals(semNome, CursorToken.decode(semNome.encode()));
+
+        CursorToken vazio = new CursorToken("", "3f0c6c1e-id");
+        assertEquals(vazio, CursorToken.decode(vazio.encode()));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(InvalidRequestParameterException.class, () -> CursorToken.decode("%%%"));
+        assertThrows(InvalidRequestParameterException.class, () -> CursorToken.decode("YWJj"));
+    }
+
+    @Test
+    void shouldClampPageSize() {
+        assertEquals(1, CursorToken.clampSize(0));
+        assertEquals(CursorToken.MAX_SIZE, CursorToken.clampSize(100_000));
+        assertEquals(20, CursorToken.clampSize(20));
+    }
+}
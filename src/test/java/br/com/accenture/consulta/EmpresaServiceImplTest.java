@@ -0,0 +1,102 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.cache.CacheInvalidationBus;
+import br.com.accenture.consulta.application.cache.LookupCache;
+import br.com.accenture.consulta.application.empresa.EmpresaServiceImpl;
+import br.com.accenture.consulta.application.estatistica.Estatisticas;
+import br.com.accenture.consulta.application.fornecedor.FornecedorServiceImpl;
+import br.com.accenture.consulta.application.sugestao.Sugestao;
+import br.com.accenture.consulta.application.sugestao.SugestaoIndex;
+import br.com.accenture.consulta.config.LookupCacheProperties;
+import br.com.accenture.consulta.domain.entities.Empresa;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import br.com.accenture.consulta.repository.EmpresaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EmpresaServiceImplTest {
+
+    private EmpresaServiceImpl empresaService;
+    private SugestaoIndex sugestaoIndex;
+
+    @Mock
+    private EmpresaRepository empresaRepository;
+
+    @Mock
+    private FornecedorServiceImpl fornecedorService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        sugestaoIndex = new SugestaoIndex();
+        empresaService = new EmpresaServiceImpl(empresaRepository, fornecedorService, sugestaoIndex,
+                new LookupCache(new LookupCacheProperties(), mock(CacheInvalidationBus.class)), new Estatisticas());
+        // Simula o id gerado pelo banco para a empresa e para os fornecedores gravados em cascata
+        when(empresaRepository.save(any(Empresa.class))).thenAnswer(invocation -> {
+            Empresa empresa = invocation.getArgument(0);
+            if (empresa.getId() == null) {
+                empresa.setId("e1");
+            }
+            for (Fornecedor fornecedor : empresa.getFornecedores()) {
+                if (fornecedor.getId() == null) {
+                    fornecedor.setId("f-" + fornecedor.getCpfCnpj());
+                }
+            }
+            return empresa;
+        });
+    }
+
+    @Test
+    void shouldIndexFornecedoresSavedInCascadeWithNewEmpresa() {
+        Empresa empresa = empresa(new ArrayList<>(List.of(fornecedor("52998224725", "João Silva"))));
+
+        empresaService.save(empresa);
+
+        assertEquals(List.of("e1"), ids(sugestaoIndex.suggestEmpresas("acme", 10)));
+        assertEquals(List.of("f-52998224725"), ids(sugestaoIndex.suggestFornecedores("joao", 10)));
+    }
+
+    @Test
+    void shouldIndexFornecedoresAddedInCascadeOnUpdate() {
+        Empresa existente = empresa(new ArrayList<>());
+        existente.setId("e1");
+        when(empresaRepository.findById("e1")).thenReturn(Optional.of(existente));
+
+        Empresa alteracao = new Empresa();
+        alteracao.setId("e1");
+        alteracao.setFornecedores(List.of(fornecedor("11144477735", "Joana Souza")));
+        empresaService.updateEmpresa(alteracao);
+
+        assertEquals(List.of("f-11144477735"), ids(sugestaoIndex.suggestFornecedores("joana", 10)));
+    }
+
+    private static Empresa empresa(List<Fornecedor> fornecedores) {
+        Empresa empresa = new Empresa();
+        empresa.setCnpj("11444777000161");
+        empresa.setNomeFantasia("Acme");
+        empresa.setCep("01001-000");
+        empresa.setFornecedores(fornecedores);
+        return empresa;
+    }
+
+    private static Fornecedor fornecedor(String cpfCnpj, String nome) {
+        Fornecedor fornecedor = new Fornecedor();
+        fornecedor.setCpfCnpj(cpfCnpj);
+        fornecedor.setNome(nome);
+        return fornecedor;
+    }
+
+    private static List<String> ids(List<Sugestao> sugestoes) {
+        return sugestoes.stream().map(Sugestao::id).toList();
+    }
+}
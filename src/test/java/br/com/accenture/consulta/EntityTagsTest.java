@@ -0,0 +1,42 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.empresa.FetchPlan;
+import br.com.accenture.consulta.application.etag.EntityTags;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityTagsTest {
+
+    @Test
+    void shouldMatchIfNoneMatchWeakly() {
+        String etag = EntityTags.fornecedor("abc", 3L);
+        assertEquals("\"f-abc-v3\"", etag);
+        assertTrue(EntityTags.matchesIfNoneMatch("\"f-abc-v3\"", etag));
+        assertTrue(EntityTags.matchesIfNoneMatch("W/\"f-abc-v3\"", etag));
+        assertTrue(EntityTags.matchesIfNoneMatch("\"outro\", \"f-abc-v3\"", etag));
+        assertTrue(EntityTags.matchesIfNoneMatch("*", etag));
+        assertFalse(EntityTags.matchesIfNoneMatch("\"f-abc-v2\"", etag));
+    }
+
+    @Test
+    void shouldMatchEmpresaIfMatchOnBaseVersion() {
+        String base = EntityTags.empresaBase("abc", 2L);
+        String lida = EntityTags.empresa("abc", 2L, FetchPlan.FORNECEDORES, 17L);
+
+        assertTrue(EntityTags.matchesIfMatch(null, base));
+        assertTrue(EntityTags.matchesIfMatch(lida, base));
+        assertFalse(EntityTags.matchesIfMatch("W/" + lida, base));
+        assertFalse(EntityTags.matchesIfMatch(EntityTags.empresa("abc", 21L, FetchPlan.FORNECEDORES, 17L), base));
+        assertFalse(EntityTags.matchesIfMatch(EntityTags.empresa("abc", 1L, FetchPlan.FORNECEDORES, 17L), base));
+    }
+
+    @Test
+    void shouldMatchEmpresaIfMatchWithTagReturnedByPut() {
+        String base = EntityTags.empresaBase("abc", 3L);
+
+        assertEquals("\"e-abc-v3\"", EntityTags.empresa("abc", 3L));
+        assertTrue(EntityTags.matchesIfMatch(EntityTags.empresa("abc", 3L), base));
+        assertFalse(EntityTags.matchesIfMatch(EntityTags.empresa("abc", 2L), base));
+    }
+}
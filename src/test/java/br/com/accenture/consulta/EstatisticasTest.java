@@ -0,0 +1,48 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.estatistica.Estatisticas;
+import br.com.accenture.consulta.domain.entities.Empresa;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EstatisticasTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldMaintainCountersIncrementally() {
+        Estatisticas estatisticas = new Estatisticas();
+        Fornecedor pf = Fornecedor.builder().id("f1").cpfCnpj("52998224725").cep("01001-000").build();
+        Fornecedor pj = Fornecedor.builder().id("f2").cpfCnpj("11222333000181").cep("80010-000").build();
+        estatisticas.fornecedorCriado(pf);
+        estatisticas.fornecedorCriado(pj);
+        estatisticas.empresaCriada(Empresa.builder().id("e1").fornecedores(List.of(pf)).build());
+        estatisticas.empresaCriada(Empresa.builder().id("e2").build());
+        estatisticas.vinculosCriados("e1", List.of("f2"));
+        estatisticas.vinculosCriados("e2", List.of("f2"));
+
+        Map<String, Object> snapshot = estatisticas.snapshot();
+        assertEquals(2L, snapshot.get("empresas"));
+        assertEquals(3L, snapshot.get("vinculos"));
+        assertEquals(1L, snapshot.get("pessoaFisica"));
+        assertEquals(Map.of("SP", 1L, "PR", 1L), snapshot.get("fornecedoresPorUf"));
+        Map<String, Object> porEmpresa = (Map<String, Object>) snapshot.get("fornecedoresPorEmpresa");
+        assertEquals(Map.of("0", 0L, "1", 1L, "2-10", 1L, "11-100", 0L, "101-1000", 0L, "1001+", 0L), porEmpresa.get("faixas"));
+
+        estatisticas.fornecedorAlterado("52998224725", "01001-000",
+                Fornecedor.builder().id("f1").cpfCnpj("52998224725").cep("20040-000").build());
+        estatisticas.vinculosRemovidos("e1", List.of("f1", "f2"));
+        estatisticas.empresaExcluida("e2", List.of("f2"));
+
+        snapshot = estatisticas.snapshot();
+        assertEquals(1L, snapshot.get("empresas"));
+        assertEquals(0L, snapshot.get("vinculos"));
+        assertEquals(Map.of("RJ", 1L, "PR", 1L), snapshot.get("fornecedoresPorUf"));
+        Map<String, Object> porFornecedor = (Map<String, Object>) snapshot.get("empresasPorFornecedor");
+        assertEquals(2L, ((Map<String, Long>) porFornecedor.get("faixas")).get("0"));
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.cep.CepInfo;
+import br.com.accenture.consulta.application.cep.CepResolver;
+import br.com.accenture.consulta.application.fornecedor.FornecedorImportService;
+import br.com.accenture.consulta.application.importacao.ImportFormat;
+import br.com.accenture.consulta.application.importacao.ImportReport;
+import br.com.accenture.consulta.domain.entities.Fornecedor;
+import br.com.accenture.consulta.repository.FornecedorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+// Importação contra um banco em memória: o bloco inteiro cai no fallback linha a linha quando uma chave é gravada por fora
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:importacao;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.devtools.restart.enabled=false",
+        "consulta.busca.create-indexes=false",
+        "consulta.lookup-cache.notify.enabled=false",
+        "consulta.import.chunk-size=1000"
+})
+class FornecedorImportServiceTest {
+
+    private static final String HEADER = "cpfCnpj,nome,email,cep,rg,dataNascimento";
+
+    @Autowired
+    private FornecedorImportService importService;
+
+    @Autowired
+    private FornecedorRepository fornecedorRepository;
+
+    @MockBean
+    private CepResolver cepResolver;
+
+    @BeforeEach
+    void setUp() {
+        fornecedorRepository.deleteAll();
+        when(cepResolver.resolve(anyString())).thenReturn(CepInfo.of("SP"));
+    }
+
+    @Test
+    void shouldReportDuplicatesAndFallBackRowByRowWhenChunkConflicts() throws Exception {
+        fornecedorRepository.save(fornecedor("11222333000181", "bruno@x.com", "3"));
+        // Outra instância grava o mesmo CNPJ entre a checagem de unicidade e o insert do bloco
+        when(cepResolver.resolve("02002000")).thenAnswer(invocation -> {
+            fornecedorRepository.save(fornecedor("04252011000110", "outra@x.com", "40"));
+            return CepInfo.of("SP");
+        });
+
+        ImportReport report = importService.importFornecedores(csv(
+                "11444777000161,\"Silva, Ana\",ana@x.com,01001-000,1,",
+                "11444777000161,Ana 2,ana2@x.com,01001-000,2,",
+                "11222333000181,Bruno,bruno2@x.com,01001-000,30,",
+                "04252011000110,Carla,carla@x.com,02002-000,4,",
+                "33000167000101,Davi,davi@x.com,01001-000,5,"
+        ), ImportFormat.CSV);
+
+        assertEquals(5, report.getTotal());
+        assertEquals(2, report.getImported());
+        assertEquals(3, report.getFailed());
+        assertEquals(List.of(3L, 4L, 5L), report.getErrors().stream().map(ImportReport.ImportError::getLine).toList());
+        assertTrue(report.getErrors().stream().allMatch(error -> error.getError().equals("CNPJ/CPF existe.")));
+
+        assertEquals("Silva, Ana", fornecedorRepository.findByCpfCnpj("11444777000161").orElseThrow().getNome());
+        assertTrue(fornecedorRepository.findByCpfCnpj("33000167000101").isPresent());
+        assertEquals("outra@x.com", fornecedorRepository.findByCpfCnpj("04252011000110").orElseThrow().getEmail());
+        assertEquals(4, fornecedorRepository.count());
+    }
+
+    @Test
+    void shouldImportWholeChunkWithoutConflicts() throws Exception {
+        ImportReport report = importService.importFornecedores(csv(
+                "11444777000161,Ana,ana@x.com,01001-000,1,",
+                "",
+                "33000167000101,Davi,davi@x.com,01001-000,5,"
+        ), ImportFormat.CSV);
+
+        assertEquals(2, report.getTotal());
+        assertEquals(2, report.getImported());
+        assertEquals(0, report.getFailed());
+        assertEquals(2, fornecedorRepository.count());
+    }
+
+    private static ByteArrayInputStream csv(String... lines) {
+        return new ByteArrayInputStream((HEADER + "\n" + String.join("\n", lines)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Fornecedor fornecedor(String cpfCnpj, String email, String rg) {
+        return Fornecedor.builder().cpfCnpj(cpfCnpj).nome("Existente").email(email).cep("01001-000").rg(rg).build();
+    }
+}
@@ -1,37 +1,50 @@
 package br.com.accenture.consulta;
 
+import br.com.accenture.consulta.application.cache.CacheInvalidationBus;
+import br.com.accenture.consulta.application.cache.LookupCache;
+import br.com.accenture.consulta.application.cep.CepInfo;
+import br.com.accenture.consulta.application.cep.CepResolver;
+import br.com.accenture.consulta.application.estatistica.Estatisticas;
 import br.com.accenture.consulta.application.fornecedor.FornecedorDto;
-import br.com.accenture.consulta.application.fornecedor.FornecedorMapper;
 import br.com.accenture.consulta.application.fornecedor.FornecedorServiceImpl;
+import br.com.accenture.consulta.application.fornecedor.FornecedorValidationPipeline;
+import br.com.accenture.consulta.application.sugestao.SugestaoIndex;
+import br.com.accenture.consulta.config.LookupCacheProperties;
 import br.com.accenture.consulta.domain.entities.Fornecedor;
 import br.com.accenture.consulta.domain.exception.DuplicatedTupleException;
 import br.com.accenture.consulta.domain.exception.InvalidBirthdayException;
 import br.com.accenture.consulta.domain.exception.InvalidCepException;
+import br.com.accenture.consulta.domain.exception.InvalidDocumentException;
 import br.com.accenture.consulta.repository.EmpresaRepository;
 import br.com.accenture.consulta.repository.FornecedorRepository;
+import br.com.accenture.consulta.repository.UniqueKeyConflicts;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class FornecedorServiceImplTest {
 
-    @InjectMocks
     private FornecedorServiceImpl fornecedorService;
 
     @Mock
@@ -41,11 +54,17 @@ class FornecedorServiceImplTest {
     private EmpresaRepository empresaRepository;
 
     @Mock
-    private FornecedorMapper fornecedorMapper;
+    private CepResolver cepResolver;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // Executor síncrono: as etapas do pipeline rodam na thread do teste
+        FornecedorValidationPipeline validationPipeline =
+                new FornecedorValidationPipeline(fornecedorRepository, cepResolver, Runnable::run);
+        fornecedorService = new FornecedorServiceImpl(fornecedorRepository, empresaRepository, validationPipeline,
+                new SugestaoIndex(), new LookupCache(new LookupCacheProperties(), mock(CacheInvalidationBus.class)), new Estatisticas(),
+                Runnable::run);
     }
 
     @Test
@@ -70,7 +89,8 @@ class FornecedorServiceImplTest {
         Fornecedor fornecedor2 = new Fornecedor();
         fornecedor2.setNome(nome);
 
-        when(fornecedorRepository.findByNome(nome)).thenReturn(Arrays.asList(fornecedor1, fornecedor2));
+        when(fornecedorRepository.findByNome(eq("teste"), eq("%teste%"), any(Pageable.class)))
+                .thenReturn(Arrays.asList(fornecedor1, fornecedor2));
 
         List<Fornecedor> result = fornecedorService.getByNome(nome);
 
@@ -81,20 +101,19 @@ class FornecedorServiceImplTest {
     @Test
     void shouldThrowDuplicatedTupleExceptionWhenSaveWithDuplicateCpfCnpj() {
         Fornecedor fornecedor = new Fornecedor();
-        fornecedor.setCpfCnpj("12345678901");
+        fornecedor.setCpfCnpj("52998224725"); // CPF com dígitos verificadores válidos
         fornecedor.setCep("12345-678"); // Definir um CEP válido para não interferir
         fornecedor.setNome("Fornecedor Teste");
         fornecedor.setDataNascimento(LocalDate.now().minusYears(20));
 
-        FornecedorServiceImpl fornecedorSpy = spy(fornecedorService);
+        when(cepResolver.resolveAsync(fornecedor.getCep())).thenReturn(CompletableFuture.completedFuture(CepInfo.of("SP")));
 
-        doReturn("SP").when(fornecedorSpy).getUfFromCep(fornecedor.getCep());
+        when(fornecedorRepository.findUniqueKeyConflicts(fornecedor.getCpfCnpj(), null, null))
+                .thenReturn(conflicts(1, 0, 0));
 
-        doReturn(true).when(fornecedorSpy).isValidCep(fornecedor.getCep());
-
-        when(fornecedorRepository.findByCpfCnpj(fornecedor.getCpfCnpj())).thenReturn(Optional.of(fornecedor));
-
-        assertThrows(DuplicatedTupleException.class, () -> fornecedorSpy.save(fornecedor));
+        DuplicatedTupleException exception =
+                assertThrows(DuplicatedTupleException.class, () -> fornecedorService.save(fornecedor));
+        assertEquals("CNPJ/CPF existe.", exception.getMessage());
     }
 
 
@@ -104,13 +123,10 @@ class FornecedorServiceImplTest {
         Fornecedor fornecedor = new Fornecedor();
         fornecedor.setCep("12345-678");
 
-        // O fornecedorService deve ser um spy para que possamos mockar seus métodos
-        FornecedorServiceImpl fornecedorSpy = spy(fornecedorService);
-
-        // Mockando o método isValidCep
-        doReturn(false).when(fornecedorSpy).isValidCep(fornecedor.getCep());
+        // Mockando a resolução do CEP
+        when(cepResolver.resolveAsync(fornecedor.getCep())).thenReturn(CompletableFuture.completedFuture(CepInfo.invalid()));
 
-        assertThrows(InvalidCepException.class, () -> fornecedorSpy.save(fornecedor));
+        assertThrows(InvalidCepException.class, () -> fornecedorService.save(fornecedor));
     }
 
     @Test
@@ -120,16 +136,101 @@ class FornecedorServiceImplTest {
         fornecedor.setCpfCnpj("12345678901"); // CPF com 11 dígitos (indica pessoa física)
         fornecedor.setDataNascimento(LocalDate.now().minusYears(17)); // Menor de 18 anos
 
-        // O fornecedorService deve ser um spy para que possamos mockar seus métodos
-        FornecedorServiceImpl fornecedorSpy = spy(fornecedorService);
+        // A UF sai da tabela local de faixas de CEP: a regra falha antes de qualquer consulta ao ViaCEP
+        assertThrows(InvalidBirthdayException.class, () -> fornecedorService.save(fornecedor));
+        verifyNoInteractions(cepResolver);
+    }
+
+
+    @Test
+    void shouldThrowInvalidDocumentExceptionWhenCpfCheckDigitsAreWrong() {
+        Fornecedor fornecedor = new Fornecedor();
+        fornecedor.setCep("12345-678");
+        fornecedor.setCpfCnpj("52998224724");
+
+        assertThrows(InvalidDocumentException.class, () -> fornecedorService.save(fornecedor));
+        verifyNoInteractions(cepResolver);
+    }
+
+    @Test
+    void shouldSaveWhenAllValidationStagesPass() {
+        Fornecedor fornecedor = new Fornecedor();
+        fornecedor.setCpfCnpj("11222333000181"); // CNPJ válido
+        fornecedor.setCep("80000-000");
+
+        when(cepResolver.resolveAsync(fornecedor.getCep())).thenReturn(CompletableFuture.completedFuture(CepInfo.of("PR")));
+        when(fornecedorRepository.saveAndFlush(fornecedor)).thenReturn(fornecedor);
+
+        assertSame(fornecedor, fornecedorService.save(fornecedor));
+        verify(fornecedorRepository, times(1)).findUniqueKeyConflicts("11222333000181", null, null);
+    }
+
+    @Test
+    void shouldSaveAsyncOnlyAfterPendingCepLookupCompletes() {
+        Fornecedor fornecedor = new Fornecedor();
+        fornecedor.setCpfCnpj("11222333000181");
+        fornecedor.setCep("80000-000");
+
+        CompletableFuture<CepInfo> lookup = new CompletableFuture<>();
+        when(cepResolver.resolveAsync(fornecedor.getCep())).thenReturn(lookup);
+        when(fornecedorRepository.saveAndFlush(fornecedor)).thenReturn(fornecedor);
 
-        // Mockando os métodos getUfFromCep e isValidCep
-        doReturn("PR").when(fornecedorSpy).getUfFromCep(fornecedor.getCep());
-        doReturn(true).when(fornecedorSpy).isValidCep(fornecedor.getCep());
+        CompletableFuture<Fornecedor> saved = fornecedorService.saveAsync(fornecedor);
+        assertFalse(saved.isDone());
+        verify(fornecedorRepository, never()).saveAndFlush(any());
 
-        assertThrows(InvalidBirthdayException.class, () -> fornecedorSpy.save(fornecedor));
+        lookup.complete(CepInfo.of("PR"));
+        assertSame(fornecedor, saved.join());
     }
 
+    @Test
+    void shouldFailSaveAsyncWithValidationException() {
+        Fornecedor fornecedor = new Fornecedor();
+        fornecedor.setCep("12345-678");
+
+        when(cepResolver.resolveAsync(fornecedor.getCep())).thenReturn(CompletableFuture.completedFuture(CepInfo.invalid()));
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> fornecedorService.saveAsync(fornecedor).join());
+        assertInstanceOf(InvalidCepException.class, exception.getCause());
+        verify(fornecedorRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void shouldTranslateUniqueViolationIntoDuplicatedTupleException() {
+        Fornecedor fornecedor = new Fornecedor();
+        fornecedor.setCpfCnpj("11222333000181");
+        fornecedor.setCep("80000-000");
+
+        when(cepResolver.resolveAsync(fornecedor.getCep())).thenReturn(CompletableFuture.completedFuture(CepInfo.of("PR")));
+        ConstraintViolationException violation = new ConstraintViolationException(
+                "duplicate key", new SQLException("duplicate key", "23505"), Fornecedor.UK_EMAIL);
+        when(fornecedorRepository.saveAndFlush(fornecedor))
+                .thenThrow(new DataIntegrityViolationException("duplicate key", violation));
+
+        DuplicatedTupleException exception =
+                assertThrows(DuplicatedTupleException.class, () -> fornecedorService.save(fornecedor));
+        assertEquals("Email already exists.", exception.getMessage());
+    }
+
+    @Test
+    void shouldTranslateUniqueViolationOnLegacyConstraintByColumn() {
+        Fornecedor fornecedor = new Fornecedor();
+        fornecedor.setCpfCnpj("11222333000181");
+        fornecedor.setCep("80000-000");
+
+        when(cepResolver.resolveAsync(fornecedor.getCep())).thenReturn(CompletableFuture.completedFuture(CepInfo.of("PR")));
+        // Constraint antiga com nome gerado pelo Hibernate: só o detalhe do Postgres diz qual coluna repetiu
+        SQLException sqlException = new SQLException("ERROR: duplicate key value violates unique constraint "
+                + "\"uk_8ot3vw0gkbk2u3bp6ycsqu6ng\"\n  Detail: Key (rg)=(12345) already exists.", "23505");
+        ConstraintViolationException violation =
+                new ConstraintViolationException("duplicate key", sqlException, "uk_8ot3vw0gkbk2u3bp6ycsqu6ng");
+        when(fornecedorRepository.saveAndFlush(fornecedor))
+                .thenThrow(new DataIntegrityViolationException("duplicate key", violation));
+
+        DuplicatedTupleException exception =
+                assertThrows(DuplicatedTupleException.class, () -> fornecedorService.save(fornecedor));
+        assertEquals("RG já existe.", exception.getMessage());
+    }
 
     @Test
     void shouldReturnFornecedorWhenGetById() {
@@ -148,12 +249,11 @@ class FornecedorServiceImplTest {
     @Test
     void shouldReturnPageOfFornecedoresWhenGetAllFornecedores() {
         Pageable pageable = PageRequest.of(0, 10);
-        Fornecedor fornecedor = new Fornecedor();
+        FornecedorDto fornecedor = new FornecedorDto();
         fornecedor.setNome("Fornecedor Teste");
-        Page<Fornecedor> page = new PageImpl<>(Arrays.asList(fornecedor));
+        Page<FornecedorDto> page = new PageImpl<>(Arrays.asList(fornecedor));
 
-        when(fornecedorRepository.findAll(pageable)).thenReturn(page);
-        when(fornecedorMapper.mapToFornecedorDto(any())).thenReturn(new FornecedorDto());
+        when(fornecedorRepository.findAllDtos(pageable)).thenReturn(page);
 
         Page<FornecedorDto> result = fornecedorService.getAllFornecedores(pageable);
 
@@ -163,15 +263,15 @@ class FornecedorServiceImplTest {
     @Test
     void shouldDeleteFornecedor() {
         String id = "1";
-        Fornecedor fornecedor = new Fornecedor();
-        fornecedor.setId(id);
-        fornecedor.setEmpresas(new ArrayList<>()); // Inicializando a lista de empresas
 
-        when(fornecedorRepository.findById(id)).thenReturn(Optional.of(fornecedor));
+        when(fornecedorRepository.existsById(id)).thenReturn(true);
+        when(fornecedorRepository.deleteByIdIn(List.of(id))).thenReturn(1);
 
-        fornecedorService.delete(id);
+        assertTrue(fornecedorService.delete(id));
 
-        verify(fornecedorRepository, times(1)).delete(fornecedor);
+        verify(fornecedorRepository, times(1)).deleteEmpresaLinks(List.of(id));
+        verify(fornecedorRepository, times(1)).deleteByIdIn(List.of(id));
+        verify(empresaRepository, never()).save(any());
     }
 
 
@@ -204,5 +304,23 @@ class FornecedorServiceImplTest {
         boolean isOlder = fornecedorService.isOlderThan18Years(birthDate);
         assertFalse(isOlder);
     }
-}
 
+    private static UniqueKeyConflicts conflicts(int cpfCnpj, int email, int rg) {
+        return new UniqueKeyConflicts() {
+            @Override
+            public Integer getCpfCnpj() {
+                return cpfCnpj;
+            }
+
+            @Override
+            public Integer getEmail() {
+                return email;
+            }
+
+            @Override
+            public Integer getRg() {
+                return rg;
+            }
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.importacao.ImportReport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportReportTest {
+
+    @Test
+    void shouldCountRowsImportsAndErrors() {
+        ImportReport report = new ImportReport();
+        report.addRows(3);
+        report.addRows(2);
+        report.addImported(3);
+        report.addError(4, "52998224725", "CNPJ/CPF existe.");
+        report.addError(6, null, "Linha inválida: aspas não fechadas");
+
+        assertEquals(5, report.getTotal());
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(
+                new ImportReport.ImportError(4, "52998224725", "CNPJ/CPF existe."),
+                new ImportReport.ImportError(6, null, "Linha inválida: aspas não fechadas")), report.getErrors());
+    }
+
+    @Test
+    void shouldStartEmpty() {
+        ImportReport report = new ImportReport();
+        assertEquals(0, report.getTotal());
+        assertEquals(0, report.getImported());
+        assertEquals(0, report.getFailed());
+        assertTrue(report.getErrors().isEmpty());
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.cache.CacheInvalidationBus;
+import br.com.accenture.consulta.application.cache.LookupCache;
+import br.com.accenture.consulta.config.LookupCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class LookupCacheTest {
+
+    private CacheInvalidationBus bus;
+    private LookupCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        bus = mock(CacheInvalidationBus.class);
+        cache = new LookupCache(new LookupCacheProperties(), bus);
+    }
+
+    private Optional<String> load(String value) {
+        loads.incrementAndGet();
+        return Optional.ofNullable(value);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCacheIncludingMisses() {
+        String key = LookupCache.fornecedorCpfCnpj("52998224725");
+
+        assertEquals(Optional.of("v1"), cache.get(key, () -> load("v1")));
+        assertEquals(Optional.of("v1"), cache.get(key, () -> load("v2")));
+        assertEquals(Optional.empty(), cache.get("ausente", () -> load(null)));
+        assertEquals(Optional.empty(), cache.get("ausente", () -> load("v3")));
+
+        assertEquals(2, loads.get());
+        assertEquals(0.5, (double) cache.stats().get("hitRatio"));
+    }
+
+    @Test
+    void shouldInvalidateLocallyAndPublish() {
+        String key = LookupCache.fornecedorEmail("a@x.com");
+        cache.get(key, () -> load("antigo"));
+
+        cache.invalidate(key, LookupCache.fornecedorEmail(null));
+
+        assertEquals(Optional.of("novo"), cache.get(key, () -> load("novo")));
+        verify(bus).publish(Set.of(key));
+    }
+
+    @Test
+    void shouldNotCacheLoadThatRacedWithInvalidation() {
+        String key = LookupCache.empresaCnpj("11222333000181", "NONE");
+
+        Optional<String> value = cache.get(key, () -> {
+            // Uma escrita invalida a chave enquanto a leitura ainda estava no banco
+            cache.invalidate(key);
+            return load("antigo");
+        });
+
+        assertEquals(Optional.of("antigo"), value);
+        assertEquals(Optional.of("novo"), cache.get(key, () -> load("novo")));
+        assertEquals(1L, cache.stats().get("discardedStaleLoads"));
+    }
+
+    @Test
+    void shouldApplyRemoteInvalidationsAndResets() {
+        String key = LookupCache.fornecedorCpfCnpj("1");
+        cache.get(key, () -> load("v1"));
+
+        cache.invalidated(List.of(key), System.currentTimeMillis() - 5);
+        assertEquals(Optional.of("v2"), cache.get(key, () -> load("v2")));
+
+        cache.reset();
+        assertEquals(Optional.of("v3"), cache.get(key, () -> load("v3")));
+        assertEquals(1L, cache.stats().get("remoteInvalidations"));
+        assertTrue((long) cache.stats().get("maxRemoteLagMillis") >= 5);
+        verify(bus, never()).publish(anyCollection());
+    }
+}
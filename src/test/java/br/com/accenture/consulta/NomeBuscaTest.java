@@ -0,0 +1,30 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.domain.busca.NomeBusca;
+import br.com.accenture.consulta.domain.exception.InvalidRequestParameterException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NomeBuscaTest {
+
+    @Test
+    void shouldNormalizeAccentsCaseAndSpaces() {
+        assertEquals("sao joao", NomeBusca.normalize("  SÃO   João "));
+        assertEquals("acougue coracao", NomeBusca.normalize("Açougue Coração"));
+        assertNull(NomeBusca.normalize(null));
+    }
+
+    @Test
+    void shouldEscapeLikeWildcards() {
+        assertEquals("%sao%", NomeBusca.likePattern("sao"));
+        assertEquals("%100\\% a\\_b\\\\%", NomeBusca.likePattern("100% a_b\\"));
+        assertEquals("ab\\_c%", NomeBusca.prefixPattern("ab_c"));
+    }
+
+    @Test
+    void shouldRejectBlankTerm() {
+        assertThrows(InvalidRequestParameterException.class, () -> NomeBusca.requireTermo("   "));
+        assertThrows(InvalidRequestParameterException.class, () -> NomeBusca.requireTermo(null));
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.sugestao.NomeIndex;
+import br.com.accenture.consulta.application.sugestao.Sugestao;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NomeIndexTest {
+
+    private static List<String> nomes(List<Sugestao> sugestoes) {
+        return sugestoes.stream().map(Sugestao::nome).toList();
+    }
+
+    @Test
+    void shouldRankPrefixBeforeWordPrefixBeforeInfix() {
+        NomeIndex index = new NomeIndex();
+        index.upsert("1", "Padaria São João", "1");
+        index.upsert("2", "São Paulo Ltda", "2");
+        index.upsert("3", "Mercado Paulista", "3");
+        index.upsert("4", "Sao", "4");
+
+        assertEquals(List.of("Sao", "São Paulo Ltda", "Padaria São João"), nomes(index.suggest("sao", 10)));
+        assertEquals(List.of("São Paulo Ltda", "Mercado Paulista"), nomes(index.suggest("PAUL", 10)));
+        assertEquals(List.of("Mercado Paulista"), nomes(index.suggest("ulis", 10)));
+        assertEquals(List.of("Padaria São João"), nomes(index.suggest("pa jo", 10)));
+        assertEquals(List.of("Sao"), nomes(index.suggest("sao", 1)));
+        assertTrue(index.suggest("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void shouldApplyUpdatesAndDeletesIncrementally() {
+        NomeIndex index = new NomeIndex();
+        index.upsert("1", "Alfa Comércio", "1");
+        index.upsert("1", "Beta Comércio", "1");
+
+        assertTrue(index.suggest("alf", 10).isEmpty());
+        assertEquals("1", index.suggest("bet", 10).get(0).id());
+
+        index.remove("1");
+        assertTrue(index.suggest("comercio", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void shouldKeepWritesMadeDuringInitialLoad() {
+        NomeIndex index = new NomeIndex();
+        index.beginLoad();
+        index.upsert("1", "Nome Novo", "1");
+        index.remove("2");
+        index.load("1", "Nome Antigo", "1");
+        index.load("2", "Removido", "2");
+        index.load("3", "Outro", "3");
+        index.endLoad();
+
+        assertEquals(List.of("Nome Novo"), nomes(index.suggest("nome", 10)));
+        assertTrue(index.suggest("removido", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void shouldCompactAfterManyDeletes() {
+        NomeIndex index = new NomeIndex();
+        for (int i = 0; i < 5000; i++) {
+            index.upsert(String.valueOf(i), "Fornecedor " + i, null);
+        }
+        for (int i = 0; i < 4990; i++) {
+            index.remove(String.valueOf(i));
+        }
+
+        assertEquals(10, index.size());
+        assertEquals(10, index.suggest("fornecedor", 50).size());
+        assertEquals("4999", index.suggest("4999", 5).get(0).id());
+    }
+
+    @Test
+    void shouldCompactAfterManyRenames() {
+        NomeIndex index = new NomeIndex();
+        for (int i = 0; i < 10_000; i++) {
+            index.upsert(String.valueOf(i % 10), "Fornecedor " + i, null);
+        }
+
+        assertEquals(10, index.size());
+        assertTrue(index.removidos() <= 1024);
+        assertEquals("9", index.suggest("9999", 5).get(0).id());
+        assertTrue(index.suggest("9989", 5).isEmpty());
+    }
+}
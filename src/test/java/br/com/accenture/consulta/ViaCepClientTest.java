@@ -0,0 +1,116 @@
+package br.com.accenture.consulta;
+
+import br.com.accenture.consulta.application.cep.CepInfo;
+import br.com.accenture.consulta.application.cep.CircuitBreaker;
+import br.com.accenture.consulta.application.cep.ViaCepClient;
+import br.com.accenture.consulta.config.CepProperties;
+import br.com.accenture.consulta.domain.exception.CepServiceUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViaCepClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    // Recebe o número da requisição (1, 2, ...) e devolve a latência a injetar em ms
+    private volatile IntUnaryOperator latency = n -> 0;
+    private ViaCepClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ws", exchange -> {
+            int delay = latency.applyAsInt(requests.incrementAndGet());
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String body = exchange.getRequestURI().getPath().contains("99999999")
+                    ? "{\"erro\": true}"
+                    : "{\"cep\": \"80000-000\", \"uf\": \"PR\"}";
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (client != null) {
+            client.close();
+        }
+        server.stop(0);
+    }
+
+    private CepProperties properties() {
+        CepProperties properties = new CepProperties();
+        properties.getHttp().setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/ws");
+        properties.getHttp().setReadTimeout(Duration.ofMillis(200));
+        properties.getCircuitBreaker().setFailureThreshold(2);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMinutes(1));
+        return properties;
+    }
+
+    @Test
+    void shouldParseUfAndErroResponses() throws IOException {
+        client = new ViaCepClient(properties());
+
+        CepInfo found = client.lookup("80000000");
+        CepInfo missing = client.lookup("99999999");
+
+        assertTrue(found.valid());
+        assertEquals("PR", found.uf());
+        assertFalse(missing.valid());
+    }
+
+    @Test
+    void shouldTimeOutAndOpenCircuitWhenUpstreamIsSlow() {
+        latency = n -> 1_000;
+        client = new ViaCepClient(properties());
+
+        assertThrows(IOException.class, () -> client.lookup("80000000"));
+        assertThrows(IOException.class, () -> client.lookup("80000000"));
+        assertEquals(CircuitBreaker.State.OPEN, client.circuitState());
+
+        int before = requests.get();
+        assertThrows(CepServiceUnavailableException.class, () -> client.lookup("80000000"));
+        assertEquals(before, requests.get());
+    }
+
+    @Test
+    void shouldAnswerFromHedgeWhenFirstRequestIsSlow() throws IOException {
+        latency = n -> n == 1 ? 1_000 : 0;
+        CepProperties properties = properties();
+        properties.getHttp().setReadTimeout(Duration.ofSeconds(5));
+        properties.getHedge().setEnabled(true);
+        properties.getHedge().setDelay(Duration.ofMillis(50));
+        client = new ViaCepClient(properties);
+
+        long start = System.nanoTime();
+        CepInfo info = client.lookup("80000000");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("PR", info.uf());
+        assertEquals(2, requests.get());
+        assertTrue(elapsedMillis < 900, "hedge deveria responder antes da requisição lenta: " + elapsedMillis + "ms");
+    }
+}